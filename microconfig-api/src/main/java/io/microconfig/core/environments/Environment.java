@@ -4,6 +4,8 @@ import java.io.File;
 import java.util.List;
 import java.util.Optional;
 
+import static java.util.stream.IntStream.range;
+
 public interface Environment {
     String getName();
 
@@ -30,4 +32,16 @@ public interface Environment {
     Components findComponentsFrom(List<String> groups, List<String> components);
 
     Component findComponentWithName(String componentName);
+
+    /**
+     * @return index of the component within its group
+     */
+    default Optional<Integer> findComponentOrder(String componentName) {
+        return findGroupWithComponent(componentName)
+                .map(group -> group.getComponents().asList())
+                .flatMap(components -> range(0, components.size())
+                        .filter(i -> components.get(i).getName().equals(componentName))
+                        .boxed()
+                        .findFirst());
+    }
 }
\ No newline at end of file
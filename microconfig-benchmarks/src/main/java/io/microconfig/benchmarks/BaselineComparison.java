@@ -0,0 +1,100 @@
+package io.microconfig.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.microconfig.utils.IoUtils.readFully;
+import static java.lang.Double.parseDouble;
+import static java.lang.String.format;
+
+/**
+ * Compares JMH json results with the baseline and fails if any benchmark got slower
+ * or allocates more than the threshold allows.
+ * <p>
+ * Args: baseline.json results.json [thresholdPercent]
+ */
+public class BaselineComparison {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) {
+        Map<String, Result> baseline = readResults(new File(args[0]));
+        Map<String, Result> current = readResults(new File(args[1]));
+        double threshold = args.length > 2 ? parseDouble(args[2]) : 10;
+
+        int regressions = 0;
+        System.out.println(format("%-90s %14s %14s %9s %9s", "benchmark", "baseline", "current", "time", "alloc"));
+        for (Map.Entry<String, Result> e : current.entrySet()) {
+            Result before = baseline.get(e.getKey());
+            Result after = e.getValue();
+            if (before == null) {
+                System.out.println(format("%-90s %14s %14.3f %9s %9s", e.getKey(), "-", after.score, "new", ""));
+                continue;
+            }
+
+            double time = percentChange(before.score, after.score);
+            double alloc = percentChange(before.allocatedBytes, after.allocatedBytes);
+            boolean regressed = time > threshold || alloc > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.println(format("%-90s %14.3f %14.3f %+8.1f%% %+8.1f%%%s",
+                    e.getKey(), before.score, after.score, time, alloc, regressed ? "  REGRESSION" : ""));
+        }
+
+        if (regressions > 0) {
+            System.err.println(regressions + " benchmark(s) regressed by more than " + threshold + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> readResults(File file) {
+        Map<String, Result> results = new TreeMap<>();
+        if (!file.exists()) return results;
+
+        JsonArray benchmarks = new Gson().fromJson(readFully(file), JsonArray.class);
+        for (JsonElement element : benchmarks) {
+            JsonObject benchmark = element.getAsJsonObject();
+            results.put(nameOf(benchmark), new Result(
+                    benchmark.getAsJsonObject("primaryMetric").get("score").getAsDouble(),
+                    allocatedBytes(benchmark)
+            ));
+        }
+        return results;
+    }
+
+    private static String nameOf(JsonObject benchmark) {
+        String name = benchmark.get("benchmark").getAsString().replace("io.microconfig.core.", "");
+        if (!benchmark.has("params")) return name;
+
+        Map<String, String> params = new LinkedHashMap<>();
+        benchmark.getAsJsonObject("params").entrySet().forEach(p -> params.put(p.getKey(), p.getValue().getAsString()));
+        return name + params;
+    }
+
+    private static double allocatedBytes(JsonObject benchmark) {
+        if (!benchmark.has("secondaryMetrics")) return 0;
+
+        for (Map.Entry<String, JsonElement> metric : benchmark.getAsJsonObject("secondaryMetrics").entrySet()) {
+            if (metric.getKey().replace("\u00b7", "").equals(ALLOCATION_METRIC)) {
+                return metric.getValue().getAsJsonObject().get("score").getAsDouble();
+            }
+        }
+        return 0;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    @RequiredArgsConstructor
+    private static class Result {
+        private final double score;
+        private final double allocatedBytes;
+    }
+}
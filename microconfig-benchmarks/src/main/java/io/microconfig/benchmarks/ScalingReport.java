@@ -0,0 +1,82 @@
+package io.microconfig.benchmarks;
+
+import io.microconfig.benchmarks.SyntheticRepo.Shape;
+import io.microconfig.core.MicroconfigRunner;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.List;
+
+import static io.microconfig.benchmarks.SyntheticRepo.Shape.defaultShape;
+import static io.microconfig.core.BenchmarkFixtures.tempDir;
+import static io.microconfig.utils.FileUtils.delete;
+import static io.microconfig.utils.Logger.enableLogger;
+import static java.lang.Integer.parseInt;
+import static java.lang.String.format;
+import static java.lang.System.nanoTime;
+import static java.lang.management.MemoryType.HEAP;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * End-to-end build of synthetic repos of growing size. For every tier prints build time of the first
+ * environment, time per component and peak heap usage, so it's visible where the curve stops being linear.
+ * <p>
+ * Args: comma separated component counts, e.g. 100,500,1000,2000
+ */
+public class ScalingReport {
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        String tiers = args.length > 0 ? args[0] : "100,500,1000,2000";
+        enableLogger(false);
+
+        System.out.println(format("%10s %12s %14s %14s", "components", "build ms", "us/component", "peak heap MB"));
+        for (String tier : tiers.split(",")) {
+            measure(defaultShape().withComponents(parseInt(tier.trim())));
+        }
+    }
+
+    private static void measure(Shape shape) {
+        File repo = new SyntheticRepo(shape).generateIn(tempDir("microconfig-scaling"));
+        File destination = tempDir("microconfig-scaling-result");
+        try {
+            long bestNanos = Long.MAX_VALUE;
+            long peakHeap = 0;
+            for (int run = 0; run < RUNS; run++) {
+                System.gc();
+                resetPeakUsage();
+                long startTime = nanoTime();
+                new MicroconfigRunner(repo, destination).build("env0", emptyList(), emptyList());
+                bestNanos = Math.min(bestNanos, nanoTime() - startTime);
+                peakHeap = Math.max(peakHeap, peakHeapUsage());
+            }
+            System.out.println(format("%10d %12d %14d %14d",
+                    shape.getComponents(),
+                    NANOSECONDS.toMillis(bestNanos),
+                    NANOSECONDS.toMicros(bestNanos) / shape.getComponents(),
+                    peakHeap / (1024 * 1024)));
+        } finally {
+            delete(repo);
+            delete(destination);
+        }
+    }
+
+    private static void resetPeakUsage() {
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    private static long peakHeapUsage() {
+        return heapPools().stream()
+                .mapToLong(p -> p.getPeakUsage().getUsed())
+                .sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == HEAP)
+                .collect(toList());
+    }
+}
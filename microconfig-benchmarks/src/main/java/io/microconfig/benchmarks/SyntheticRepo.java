@@ -0,0 +1,179 @@
+package io.microconfig.benchmarks;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.With;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static io.microconfig.utils.FileUtils.write;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.join;
+
+/**
+ * Generates a config repo in the layout expected by ComponentGraphImpl and FileEnvironmentRepository:
+ * <pre>
+ * components/bases/base{level}-{n}/application.yaml    - include layers, each level includes the next one
+ * components/services/group{g}/c{i}/application.yaml   - includes level 0, references other components
+ * components/services/group{g}/c{i}/application.{profile or env}.yaml
+ * components/services/group{g}/c{i}/t{n}.tpl           - templates
+ * envs/env{e}.yaml
+ * </pre>
+ * The same shape and seed always produce the same repo.
+ */
+@RequiredArgsConstructor
+public class SyntheticRepo {
+    private static final int COMPONENTS_PER_GROUP = 20;
+
+    private final Shape shape;
+
+    @With
+    @Value
+    public static class Shape {
+        int components;
+        int environments;
+        int propertiesPerComponent;
+        int includeDepth;
+        int includeFanOut;
+        double placeholderDensity;
+        int profiles;
+        int templatesPerComponent;
+        long seed;
+
+        public static Shape defaultShape() {
+            return new Shape(100, 3, 40, 3, 2, 0.3, 2, 1, 42);
+        }
+
+        private int basesPerLevel() {
+            return max(1, includeFanOut * 2);
+        }
+    }
+
+    public File generateIn(File rootDir) {
+        Random random = new Random(shape.seed);
+        for (int level = 0; level < shape.includeDepth; level++) {
+            for (int n = 0; n < shape.basesPerLevel(); n++) {
+                generateBase(rootDir, level, n, random);
+            }
+        }
+        for (int i = 0; i < shape.components; i++) {
+            generateComponent(rootDir, i, random);
+        }
+        for (int e = 0; e < shape.environments; e++) {
+            generateEnv(rootDir, e);
+        }
+        return rootDir;
+    }
+
+    private void generateBase(File rootDir, int level, int n, Random random) {
+        StringBuilder yaml = new StringBuilder();
+        if (level + 1 < shape.includeDepth) {
+            yaml.append(includes(level + 1, n)).append('\n');
+        }
+        for (int k = 0; k < max(1, shape.propertiesPerComponent / 4); k++) {
+            yaml.append("base").append(level).append(".key").append(k).append(": ")
+                    .append("default-").append(level).append('-').append(n).append('-').append(random.nextInt(1000))
+                    .append('\n');
+        }
+        write(new File(rootDir, "components/bases/" + baseName(level, n) + "/application.yaml"), yaml.toString());
+    }
+
+    private void generateComponent(File rootDir, int i, Random random) {
+        File dir = new File(rootDir, "components/services/group" + groupOf(i) + "/" + componentName(i));
+        StringBuilder yaml = new StringBuilder();
+        if (shape.includeDepth > 0) {
+            yaml.append(includes(0, i)).append('\n');
+        }
+        yaml.append("server:\n  port: ").append(8000 + i).append('\n');
+        for (int k = 0; k < shape.propertiesPerComponent; k++) {
+            yaml.append("section").append(k % 5).append(":\n")
+                    .append("  key").append(k).append(": ").append(valueOf(i, k, random)).append('\n');
+        }
+        for (int t = 0; t < shape.templatesPerComponent; t++) {
+            yaml.append("mc.template.t").append(t).append(":\n")
+                    .append("  fromFile: ${this@configDir}/t").append(t).append(".tpl\n")
+                    .append("  toFile: t").append(t).append(".conf\n");
+            write(new File(dir, "t" + t + ".tpl"), template(t));
+        }
+        write(new File(dir, "application.yaml"), yaml.toString());
+
+        for (int p = 0; p < shape.profiles; p++) {
+            if ((i + p) % 3 == 0) {
+                write(new File(dir, "application.p" + p + ".yaml"), "server:\n  port: " + (9000 + i) + "\n");
+            }
+        }
+        for (int e = 0; e < shape.environments; e++) {
+            if ((i + e) % 5 == 0) {
+                write(new File(dir, "application.env" + e + ".yaml"), "section0:\n  key0: env" + e + "-override\n");
+            }
+        }
+    }
+
+    private String valueOf(int component, int key, Random random) {
+        if (random.nextDouble() >= shape.placeholderDensity) {
+            return "value-" + component + "-" + key;
+        }
+
+        int kind = random.nextInt(10);
+        if (kind < 5 && component > 0) {
+            int referenced = random.nextInt(component);
+            int referencedKey = random.nextInt(shape.propertiesPerComponent);
+            return "${" + componentName(referenced) + "@section" + (referencedKey % 5) + ".key" + referencedKey + "}";
+        }
+        if (kind < 9 && key > 0) {
+            int referencedKey = random.nextInt(key);
+            return "http://${this@section" + (referencedKey % 5) + ".key" + referencedKey + "}:${this@server.port}";
+        }
+        return "#{${this@server.port} + " + key + "}";
+    }
+
+    private String template(int t) {
+        StringBuilder content = new StringBuilder();
+        for (int line = 0; line < 20; line++) {
+            int key = min(line, shape.propertiesPerComponent - 1);
+            content.append("line").append(line).append(" = ")
+                    .append(line % 2 == 0 ? "${this@section" + (key % 5) + ".key" + key + "}" : "static-" + t)
+                    .append('\n');
+        }
+        return content.toString();
+    }
+
+    private void generateEnv(File rootDir, int e) {
+        StringBuilder yaml = new StringBuilder();
+        if (shape.profiles > 0) {
+            yaml.append("profiles:\n  - p").append(e % shape.profiles).append('\n');
+        }
+        yaml.append("portOffset: ").append(e).append('\n');
+        for (int g = 0; g <= groupOf(shape.components - 1); g++) {
+            yaml.append("group").append(g).append(":\n  components:\n");
+            for (int i = g * COMPONENTS_PER_GROUP; i < min(shape.components, (g + 1) * COMPONENTS_PER_GROUP); i++) {
+                yaml.append("    - ").append(componentName(i)).append('\n');
+            }
+        }
+        write(new File(rootDir, "envs/env" + e + ".yaml"), yaml.toString());
+    }
+
+    private String includes(int level, int from) {
+        List<String> included = new ArrayList<>();
+        for (int f = 0; f < shape.includeFanOut; f++) {
+            included.add(baseName(level, (from + f) % shape.basesPerLevel()));
+        }
+        return included.isEmpty() ? "" : "#include " + join(", ", included);
+    }
+
+    private int groupOf(int component) {
+        return component / COMPONENTS_PER_GROUP;
+    }
+
+    public static String componentName(int i) {
+        return "c" + i;
+    }
+
+    private static String baseName(int level, int n) {
+        return "base" + level + "-" + n;
+    }
+}
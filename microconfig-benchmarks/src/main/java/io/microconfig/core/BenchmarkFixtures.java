@@ -0,0 +1,129 @@
+package io.microconfig.core;
+
+import io.microconfig.core.environments.EnvironmentRepository;
+import io.microconfig.core.properties.*;
+import io.microconfig.core.properties.resolvers.expression.ExpressionResolver;
+import io.microconfig.core.properties.resolvers.placeholder.PlaceholderResolver;
+import io.microconfig.io.FsReader;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static io.microconfig.core.properties.ConfigFormat.YAML;
+import static io.microconfig.core.properties.PropertyImpl.property;
+import static io.microconfig.core.properties.resolvers.ChainedResolver.chainOf;
+import static io.microconfig.utils.FileUtils.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Small config repo and config texts shared by benchmarks.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public class BenchmarkFixtures {
+    public static final String ENV = "bench";
+    public static final DeclaringComponent ROOT = new DeclaringComponentImpl("app", "c0", ENV);
+
+    public static File configRepo(int components) {
+        File root = tempDir("microconfig-bench");
+        StringBuilder env = new StringBuilder("bench:\n  components:\n");
+        for (int i = 0; i < components; i++) {
+            env.append("    - c").append(i).append('\n');
+            write(new File(root, "components/c" + i + "/application.yaml"), yamlConfig(i, 20));
+        }
+        write(new File(root, "envs/" + ENV + ".yaml"), env.toString());
+        return root;
+    }
+
+    /**
+     * Nested yaml with plain values, placeholders to the previous component, expressions and multiline values.
+     */
+    public static String yamlConfig(int component, int sections) {
+        StringBuilder yaml = new StringBuilder();
+        for (int s = 0; s < sections; s++) {
+            yaml.append("section").append(s).append(":\n")
+                    .append("  host: host-").append(component).append('-').append(s).append(".example.com\n")
+                    .append("  port: ").append(8000 + s).append('\n')
+                    .append("  url: http://${this@section").append(s).append(".host}:${this@section").append(s).append(".port}/api\n")
+                    .append("  upstream: ${c").append(Math.max(0, component - 1)).append("@section").append(s).append(".host:localhost}\n")
+                    .append("  timeout: #{").append(s).append(" * 1000}\n")
+                    .append("  list:\n")
+                    .append("    - first\n")
+                    .append("    - second\n")
+                    .append("  script: |\n")
+                    .append("    echo start\n")
+                    .append("    echo ${this@section").append(s).append(".port}\n");
+        }
+        return yaml.toString();
+    }
+
+    public static String propertiesConfig(int keys) {
+        StringBuilder properties = new StringBuilder("# generated\n");
+        for (int i = 0; i < keys; i++) {
+            properties.append("server.key").append(i).append("=value-").append(i).append('\n')
+                    .append("server.url").append(i).append("=http://${this@server.key").append(i).append("}:8080\n")
+                    .append("#var.tmp").append(i).append("=").append(i).append('\n')
+                    .append("server.multi").append(i).append("=line1 \\\n    line2\n");
+        }
+        return properties.toString();
+    }
+
+    public static List<Property> properties(int keys, String valuePrefix) {
+        List<Property> properties = new ArrayList<>();
+        for (int i = 0; i < keys; i++) {
+            properties.add(property("section" + (i % 10) + ".key" + i, valuePrefix + i, YAML, ROOT));
+        }
+        return properties;
+    }
+
+    /**
+     * Resolves placeholders against fixed values, so that benchmarks measure resolution itself rather than config reading.
+     */
+    public static Resolver inMemoryResolver(EnvironmentRepository environments, Map<String, String> values) {
+        PlaceholderResolveStrategy strategy = (component, key, environment, configType, root) -> Optional.ofNullable(values.get(key))
+                .map(v -> property(key, v, YAML, new DeclaringComponentImpl(configType, component, environment)));
+        return chainOf(
+                new PlaceholderResolver(environments, strategy, emptySet()),
+                new ExpressionResolver()
+        );
+    }
+
+    public static FsReader inMemoryFsReader(String content) {
+        List<String> lines = asList(content.split("\n"));
+        return new FsReader() {
+            @Override
+            public String readFully(File file) {
+                return content;
+            }
+
+            @Override
+            public List<String> readLines(File file) {
+                return lines;
+            }
+
+            @Override
+            public Optional<String> firstLineOf(File file, Predicate<String> predicate) {
+                return lines.stream().filter(predicate).findFirst();
+            }
+        };
+    }
+
+    public static File tempDir(String prefix) {
+        try {
+            File dir = Files.createTempDirectory(prefix).toFile();
+            dir.deleteOnExit();
+            return dir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
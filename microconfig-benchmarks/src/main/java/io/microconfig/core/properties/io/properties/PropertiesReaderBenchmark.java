@@ -0,0 +1,39 @@
+package io.microconfig.core.properties.io.properties;
+
+import io.microconfig.core.properties.ConfigSources;
+import io.microconfig.core.properties.Property;
+import io.microconfig.io.FsReader;
+import io.microconfig.utils.SymbolTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.BenchmarkFixtures.*;
+import static io.microconfig.utils.CacheBudget.unlimited;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertiesReaderBenchmark {
+    @Param({"10", "100"})
+    int keys;
+
+    private final File file = new File("application.properties");
+    private final ConfigSources sources = new ConfigSources(new SymbolTable(), true, unlimited());
+    private FsReader fsReader;
+
+    @Setup
+    public void setUp() {
+        fsReader = inMemoryFsReader(propertiesConfig(keys));
+    }
+
+    @Benchmark
+    public List<Property> properties() {
+        return new PropertiesReader(file, fsReader, sources).properties("app", ENV);
+    }
+}
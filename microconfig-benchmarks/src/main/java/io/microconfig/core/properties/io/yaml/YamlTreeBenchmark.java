@@ -0,0 +1,38 @@
+package io.microconfig.core.properties.io.yaml;
+
+import io.microconfig.core.properties.Property;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.BenchmarkFixtures.properties;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlTreeBenchmark {
+    @Param({"50", "500"})
+    int keys;
+
+    private final YamlTree yamlTree = new YamlTreeImpl();
+    private final Map<String, String> flatProperties = new LinkedHashMap<>();
+
+    @Setup
+    public void setUp() {
+        for (Property p : properties(keys, "value-")) {
+            flatProperties.put(p.getKey(), p.getValue());
+        }
+        flatProperties.put("script", "echo start\necho end");
+        flatProperties.put("list", "[a, b, c]");
+    }
+
+    @Benchmark
+    public String toYaml() {
+        return yamlTree.toYaml(flatProperties);
+    }
+}
@@ -0,0 +1,53 @@
+package io.microconfig.core.properties.resolvers;
+
+import io.microconfig.core.properties.Resolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.BenchmarkFixtures.*;
+import static io.microconfig.core.Microconfig.searchConfigsIn;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecursiveResolverBenchmark {
+    private Resolver resolver;
+
+    @Setup
+    public void setUp() {
+        File repo = configRepo(1);
+        Map<String, String> values = new HashMap<>();
+        values.put("host", "db.example.com");
+        values.put("port", "5432");
+        values.put("url", "jdbc:postgresql://${this@host}:${this@port}/orders");
+        values.put("pool", "#{${this@port} / 100}");
+        resolver = inMemoryResolver(searchConfigsIn(repo).environments(), values);
+    }
+
+    @Benchmark
+    public String plainValue() {
+        return resolver.resolve("jdbc:postgresql://db.example.com:5432/orders", ROOT, ROOT);
+    }
+
+    @Benchmark
+    public String singlePlaceholder() {
+        return resolver.resolve("${c1@host}", ROOT, ROOT);
+    }
+
+    @Benchmark
+    public String nestedPlaceholders() {
+        return resolver.resolve("url=${c1@url}, pool=${c1@pool}", ROOT, ROOT);
+    }
+
+    @Benchmark
+    public String expression() {
+        return resolver.resolve("#{'${c1@host}'.toUpperCase() + ':' + (${c1@port} + 1)}", ROOT, ROOT);
+    }
+}
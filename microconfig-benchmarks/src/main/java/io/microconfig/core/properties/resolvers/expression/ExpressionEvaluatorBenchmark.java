@@ -0,0 +1,34 @@
+package io.microconfig.core.properties.resolvers.expression;
+
+import io.microconfig.core.properties.resolvers.expression.functions.CustomIoApi;
+import io.microconfig.core.properties.resolvers.expression.functions.CustomStringApi;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.properties.resolvers.expression.ExpressionEvaluator.withFunctionsFrom;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEvaluatorBenchmark {
+    private final ExpressionEvaluator evaluator = withFunctionsFrom(CustomStringApi.class, CustomIoApi.class, System.class);
+
+    @Benchmark
+    public String arithmetic() {
+        return evaluator.evaluate("8080 + 10 * 2");
+    }
+
+    @Benchmark
+    public String stringMethods() {
+        return evaluator.evaluate("'orders-service'.toUpperCase().replace('-', '_')");
+    }
+
+    @Benchmark
+    public String customFunction() {
+        return evaluator.evaluate("#base64('user:password')");
+    }
+}
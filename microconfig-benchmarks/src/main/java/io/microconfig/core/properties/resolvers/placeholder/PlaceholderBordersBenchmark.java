@@ -0,0 +1,41 @@
+package io.microconfig.core.properties.resolvers.placeholder;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders.findPlaceholderIn;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderBordersBenchmark {
+    private final String plain = "jdbc:postgresql://db.example.com:5432/orders?ssl=true&connectTimeout=10";
+    private final String simple = "http://${gateway@ip}:${gateway@server.port}/api";
+    private final String full = "${app::orders[prod]@datasource.url:${db@url:jdbc:h2:mem:orders}}";
+    private final String dollarsOnly = "price: $10, $20 and ${ not a placeholder";
+
+    @Benchmark
+    public Optional<PlaceholderBorders> noPlaceholder() {
+        return findPlaceholderIn(plain);
+    }
+
+    @Benchmark
+    public Optional<PlaceholderBorders> simplePlaceholder() {
+        return findPlaceholderIn(simple);
+    }
+
+    @Benchmark
+    public Optional<PlaceholderBorders> placeholderWithTypeEnvAndDefault() {
+        return findPlaceholderIn(full);
+    }
+
+    @Benchmark
+    public Optional<PlaceholderBorders> falseStarts() {
+        return findPlaceholderIn(dollarsOnly);
+    }
+}
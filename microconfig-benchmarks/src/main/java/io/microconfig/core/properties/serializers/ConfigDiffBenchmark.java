@@ -0,0 +1,46 @@
+package io.microconfig.core.properties.serializers;
+
+import io.microconfig.core.properties.Property;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.BenchmarkFixtures.properties;
+import static io.microconfig.core.BenchmarkFixtures.tempDir;
+import static io.microconfig.core.properties.io.selector.ConfigIoFactory.configIo;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigDiffBenchmark {
+    @Param({"50", "500"})
+    int keys;
+
+    private final ConfigDiff configDiff = new ConfigDiff();
+    private File previousConfig;
+    private List<Property> unchanged;
+    private List<Property> changed;
+
+    @Setup
+    public void setUp() {
+        previousConfig = new File(tempDir("microconfig-diff"), "application.yaml");
+        unchanged = properties(keys, "value-");
+        changed = properties(keys, "changed-");
+        configIo().writeTo(previousConfig).write(unchanged);
+    }
+
+    @Benchmark
+    public void noChanges() {
+        configDiff.storeDiffFor(previousConfig, unchanged);
+    }
+
+    @Benchmark
+    public void allChanged() {
+        configDiff.storeDiffFor(previousConfig, changed);
+    }
+}
@@ -0,0 +1,49 @@
+package io.microconfig.core.properties.templates;
+
+import io.microconfig.core.properties.Resolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.microconfig.core.BenchmarkFixtures.*;
+import static io.microconfig.core.Microconfig.searchConfigsIn;
+import static io.microconfig.core.properties.templates.TemplatePattern.DEFAULT_PLACEHOLDER_PATTERN;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringTemplateBenchmark {
+    @Param({"20", "200"})
+    int lines;
+
+    private Resolver resolver;
+    private StringTemplate template;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> values = new HashMap<>();
+        values.put("host", "db.example.com");
+        values.put("port", "5432");
+        values.put("logLevel", "INFO");
+        resolver = inMemoryResolver(searchConfigsIn(configRepo(1)).environments(), values);
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append(i % 2 == 0 ? "  <logger name=\"io.microconfig.logger" + i + "\" level=\"${this@logLevel}\"/>\n" : "  <!-- plain line " + i + " -->\n")
+                    .append("  <url>${this@host}:${this@port:8080}</url>\n");
+        }
+        template = new StringTemplate("logback", new File("logback.xml"), new File("out/logback.xml"),
+                DEFAULT_PLACEHOLDER_PATTERN, content.toString());
+    }
+
+    @Benchmark
+    public StringTemplate resolveBy() {
+        return template.resolveBy(resolver, ROOT);
+    }
+}
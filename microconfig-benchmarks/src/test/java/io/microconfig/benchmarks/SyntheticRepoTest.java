@@ -0,0 +1,36 @@
+package io.microconfig.benchmarks;
+
+import io.microconfig.core.MicroconfigRunner;
+import io.microconfig.io.DumpedFsReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Map;
+
+import static io.microconfig.benchmarks.SyntheticRepo.Shape.defaultShape;
+import static io.microconfig.core.properties.io.selector.ConfigIoFactory.newConfigIo;
+import static io.microconfig.utils.IoUtils.readFully;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticRepoTest {
+    @TempDir
+    File rootDir;
+    @TempDir
+    File destinationDir;
+
+    @Test
+    void generatedRepoBuilds() {
+        new SyntheticRepo(defaultShape().withComponents(30)).generateIn(rootDir);
+        new MicroconfigRunner(rootDir, destinationDir).build("env1", emptyList(), emptyList());
+
+        File result = new File(destinationDir, "c29/application.yaml");
+        assertFalse(readFully(result).contains("${"));
+        Map<String, String> config = newConfigIo(new DumpedFsReader()).readFrom(result).propertiesAsMap();
+        assertTrue(config.get("base0.key0").startsWith("default-0-"));
+        assertTrue(config.containsKey("section0.key0"));
+        assertTrue(new File(destinationDir, "c29/t0.conf").exists());
+    }
+}
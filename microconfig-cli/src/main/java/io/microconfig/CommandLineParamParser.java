@@ -6,9 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static io.microconfig.utils.Logger.error;
 import static io.microconfig.utils.StringUtils.isEmpty;
 import static io.microconfig.utils.StringUtils.split;
+import static java.lang.Integer.parseInt;
 
 @RequiredArgsConstructor
 public class CommandLineParamParser {
@@ -20,9 +20,14 @@ public class CommandLineParamParser {
             String key = args[i];
             String value = i < args.length - 1 ? args[i + 1] : null;
             if (!key.startsWith("-")) {
-                printErrorAndExit("key '" + key + "' must start with -");
+                throw new InvalidParamException("key '" + key + "' must start with -");
             }
-            params.put(key.substring(1), value);
+            if (key.startsWith("--") && (value == null || value.startsWith("-"))) {
+                params.put(key.substring(2), "true");
+                i--;
+                continue;
+            }
+            params.put(key.substring(key.startsWith("--") ? 2 : 1), value);
         }
 
         return new CommandLineParamParser(params);
@@ -48,13 +53,18 @@ public class CommandLineParamParser {
         String value = value(key);
         if (value != null) return value;
 
-        printErrorAndExit(npeMessage);
-        throw new AssertionError("Impossible");
+        throw new InvalidParamException(npeMessage);
     }
 
-    public static void printErrorAndExit(String npeMessage) {
-        error(npeMessage);
-        System.exit(-1);
+    public int intValue(String key, int defaultValue) {
+        String value = value(key);
+        if (value == null) return defaultValue;
+
+        try {
+            return parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidParamException("param '" + key + "' must be a number, got '" + value + "'");
+        }
     }
 
     public boolean booleanValue(String key) {
@@ -0,0 +1,121 @@
+package io.microconfig;
+
+import lombok.Value;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microconfig.core.configtypes.CustomConfigTypeRepository.DESCRIPTOR;
+import static io.microconfig.core.environments.repository.FileEnvironmentRepository.ENV_DIR;
+import static io.microconfig.core.properties.repository.ComponentGraphImpl.COMPONENTS_DIR;
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.StandardWatchEventKinds.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+class ConfigWatcher {
+    private static final long QUIET_PERIOD_MS = 200;
+
+    private final Path rootDir;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+
+    ConfigWatcher(File rootDir) {
+        this.rootDir = rootDir.toPath();
+        try {
+            this.watchService = this.rootDir.getFileSystem().newWatchService();
+            watchedDirs.put(this.rootDir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), this.rootDir);
+            registerTree(this.rootDir.resolve(COMPONENTS_DIR));
+            registerTree(this.rootDir.resolve(ENV_DIR));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't watch " + rootDir, e);
+        }
+    }
+
+    private void registerTree(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+
+        Files.walkFileTree(dir, EnumSet.of(FOLLOW_LINKS), MAX_VALUE, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) throws IOException {
+                watchedDirs.put(path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), path);
+                return CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (e instanceof FileSystemLoopException) return CONTINUE;
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Blocks until something changes, then collects events until the tree is quiet for a while,
+     * so saving several files at once results in a single rebuild.
+     */
+    SourceChanges awaitChanges() throws InterruptedException {
+        Set<File> changedFiles = new LinkedHashSet<>();
+        boolean reloadRequired = false;
+
+        WatchKey key = watchService.take();
+        while (key != null) {
+            reloadRequired |= collectEvents(key, changedFiles);
+            key = watchService.poll(QUIET_PERIOD_MS, MILLISECONDS);
+        }
+        return new SourceChanges(changedFiles, reloadRequired);
+    }
+
+    private boolean collectEvents(WatchKey key, Set<File> changedFiles) {
+        boolean reloadRequired = false;
+        Path dir = watchedDirs.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                reloadRequired = true;
+                continue;
+            }
+
+            Path path = dir.resolve((Path) event.context());
+            if (dir.equals(rootDir)) {
+                reloadRequired |= path.getFileName().toString().equals(DESCRIPTOR);
+                continue;
+            }
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                registerNewDir(path);
+                reloadRequired = true;
+            }
+            if (event.kind() == ENTRY_DELETE && watchedDirs.containsValue(path)) {
+                reloadRequired = true;
+            }
+            changedFiles.add(path.toFile());
+        }
+
+        if (!key.reset()) {
+            watchedDirs.remove(key);
+        }
+        return reloadRequired;
+    }
+
+    private void registerNewDir(Path dir) {
+        try {
+            registerTree(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't watch " + dir, e);
+        }
+    }
+
+    @Value
+    static class SourceChanges {
+        Set<File> changedFiles;
+        boolean reloadRequired;
+    }
+}
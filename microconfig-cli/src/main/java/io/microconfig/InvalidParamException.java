@@ -0,0 +1,7 @@
+package io.microconfig;
+
+public class InvalidParamException extends IllegalArgumentException {
+    public InvalidParamException(String message) {
+        super(message);
+    }
+}
@@ -1,24 +1,45 @@
 package io.microconfig;
 
+import io.microconfig.core.ComponentDependencies;
+import io.microconfig.core.Microconfig;
 import io.microconfig.core.MicroconfigRunner;
-import io.microconfig.core.properties.Properties;
+import io.microconfig.core.configtypes.ConfigTypeFilter;
+import io.microconfig.core.parsecache.ParseCache;
+import io.microconfig.core.profiling.BuildProfiler;
+import io.microconfig.core.profiling.ProfileReport;
 import io.microconfig.core.properties.serializers.ConfigResult;
+import io.microconfig.core.sharding.ComponentCosts;
+import io.microconfig.core.sharding.Shard;
+import io.microconfig.core.sharding.ShardedBuild;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import java.io.File;
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import static io.microconfig.core.ComponentDependencies.collectFrom;
+import static io.microconfig.core.configtypes.ConfigTypeFilters.configTypeWithName;
+import static io.microconfig.core.configtypes.ConfigTypeFilters.eachConfigType;
+import static io.microconfig.core.parsecache.ParseCache.PARSE_CACHE_FILE;
+import static io.microconfig.core.properties.repository.ComponentGraphImpl.COMPONENTS_DIR;
 import static io.microconfig.core.properties.serializers.ConfigResult.toJson;
 import static io.microconfig.core.properties.serializers.PropertySerializers.asConfigResult;
+import static io.microconfig.core.sharding.ComponentCosts.loadFrom;
+import static io.microconfig.utils.FileUtils.getExtension;
+import static io.microconfig.utils.FileUtils.write;
 import static io.microconfig.utils.IoUtils.readClasspathResource;
 import static io.microconfig.utils.Logger.*;
+import static io.microconfig.utils.StreamUtils.forEach;
+import static java.lang.Math.min;
 import static java.lang.System.exit;
 import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Command line params example: *
@@ -29,40 +50,71 @@ import static java.util.stream.Collectors.toCollection;
  */
 @RequiredArgsConstructor
 public class MicroconfigMain {
+    private static final String PROFILE_FILE = "microconfig-profile.json";
+
     private final File rootDir;
     private final String destinationDir;
     private final Set<String> environments;
     private final List<String> groups;
     private final List<String> services;
+    private final List<String> configTypes;
     private final boolean stacktrace;
     private final boolean jsonOutput;
     private final boolean isSingleEnvBuild;
+    private final int parallelEnvs;
+    private final boolean watch;
+    private final boolean incremental;
+    private final Shard shard;
+    private final ComponentCosts shardCosts;
+    private final int profileTop;
+    private final boolean parseCache;
+    private final boolean sourceLocations;
 
     public static void main(String... args) {
-        val params = MicroconfigParams.parse(args);
-        if (params.version()) {
-            printVersion();
-            return;
+        try {
+            val params = MicroconfigParams.parse(args);
+            if (params.version()) {
+                printVersion();
+                return;
+            }
+
+            fromParams(params).build();
+        } catch (InvalidParamException e) {
+            error(e.getMessage());
+            exit(-1);
         }
+    }
 
+    public static MicroconfigMain fromParams(MicroconfigParams params) {
         File rootDir = params.rootDir();
         String destinationDir = params.destinationDir();
         Set<String> environments = params.environments();
         List<String> groups = params.groups();
         List<String> services = params.services();
+        List<String> configTypes = params.configTypes();
         boolean stacktrace = params.stacktrace();
         boolean jsonOutput = params.jsonOutput();
         boolean isSingleEnvBuild = params.isSingleEnvBuild();
+        int parallelEnvs = params.parallelEnvs();
+        boolean watch = params.watch();
+        boolean incremental = params.incremental();
+        Shard shard = params.shard();
+        ComponentCosts shardCosts = shard == null ? null : loadFrom(params.shardCosts());
+        int profileTop = params.profileTop();
+        boolean parseCache = params.parseCache();
+        boolean sourceLocations = params.sourceLocations();
 
-        new MicroconfigMain(rootDir, destinationDir, environments, groups, services,
-                stacktrace, jsonOutput, isSingleEnvBuild)
-                .build();
+        return new MicroconfigMain(rootDir, destinationDir, environments, groups, services, configTypes,
+                stacktrace, jsonOutput, isSingleEnvBuild, parallelEnvs, watch, incremental, shard, shardCosts, profileTop, parseCache, sourceLocations);
     }
 
     private void build() {
         try {
-            enableLogger(!jsonOutput);
-            doBuild();
+            MicroconfigRunner runner = newRunner();
+            buildWith(runner);
+            if (watch) {
+                watch(runner);
+            }
         } catch (RuntimeException e) {
             if (stacktrace || e.getMessage() == null) throw e;
             error(e.getMessage());
@@ -70,31 +122,207 @@ public class MicroconfigMain {
         }
     }
 
-    private void doBuild() {
-        environmentsToBuild().forEach(env -> {
-            long startTime = nanoTime();
-            String resultDestinationDir = isSingleEnvBuild ? destinationDir : destinationDir + "/" + env;
-            MicroconfigRunner runner = new MicroconfigRunner(rootDir, new File(resultDestinationDir));
-            Properties properties = runner.buildProperties(env, groups, services);
-            if (jsonOutput) {
-                List<ConfigResult> results = properties.save(asConfigResult());
-                System.out.println(toJson(results));
-            } else {
-                properties.save(runner.toFiles());
+    private MicroconfigRunner newRunner() {
+        MicroconfigRunner runner = new MicroconfigRunner(rootDir, new File(destinationDir), !isSingleEnvBuild)
+                .withSourceLocations(sourceLocations);
+        return parseCache ? runner.withParseCache(loadParseCache()) : runner;
+    }
+
+    private ParseCache loadParseCache() {
+        return ParseCache.loadFrom(new File(destinationDir, PARSE_CACHE_FILE));
+    }
+
+    public void buildWith(MicroconfigRunner runner) {
+        enableLogger(!jsonOutput);
+        runner.getMicroconfig().profiler().enableProfiling(profileTop > 0);
+        Set<String> envs = environmentsToBuild(runner);
+        if (parallelEnvs > 1 && envs.size() > 1) {
+            buildInParallel(runner, envs);
+        } else {
+            envs.forEach(env -> buildEnv(runner, env, services));
+        }
+        runner.getMicroconfig().parseCache().save();
+        if (profileTop > 0) {
+            reportProfile(runner);
+        }
+    }
+
+    private void reportProfile(MicroconfigRunner runner) {
+        BuildProfiler profiler = runner.getMicroconfig().profiler();
+        ProfileReport report = profiler.report();
+        profiler.reset();
+        announce(report.toText(profileTop));
+        announce(runner.getMicroconfig().fsReader().toString());
+        announce(runner.getMicroconfig().cacheStats());
+        File json = new File(destinationDir, PROFILE_FILE);
+        write(json, report.toJson(profileTop));
+        announce("Profile saved to " + json.getAbsolutePath());
+    }
+
+    private void watch(MicroconfigRunner runner) {
+        ConfigWatcher watcher = new ConfigWatcher(rootDir);
+        announce("\nWatching " + rootDir.getAbsolutePath() + " for changes...");
+        while (true) {
+            try {
+                runner = rebuild(runner, watcher.awaitChanges());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (stacktrace || e.getMessage() == null) {
+                    e.printStackTrace();
+                } else {
+                    error(e.getMessage());
+                }
+            }
+        }
+    }
+
+    private MicroconfigRunner rebuild(MicroconfigRunner runner, ConfigWatcher.SourceChanges changes) {
+        if (changes.isReloadRequired()) {
+            MicroconfigRunner reloaded = newRunner();
+            buildWith(reloaded);
+            return reloaded;
+        }
+
+        Set<File> changedFiles = changes.getChangedFiles();
+        Microconfig microconfig = runner.getMicroconfig();
+        if (!changedFiles.stream().allMatch(f -> isComponentConfig(microconfig, f))) {
+            microconfig.invalidate(changedFiles);
+            buildWith(runner);
+            return runner;
+        }
+
+        Set<String> changedFolders = changedFiles.stream()
+                .map(f -> f.getParentFile().getName())
+                .collect(toSet());
+        Set<String> envs = environmentsToBuild(runner);
+        Map<String, ComponentDependencies> before = dependenciesOf(microconfig, envs);
+        microconfig.invalidate(changedFiles);
+        Map<String, ComponentDependencies> after = dependenciesOf(microconfig, envs);
+        envs.forEach(env -> {
+            List<String> affected = affectedComponents(before.get(env), after.get(env), changedFolders);
+            if (!affected.isEmpty()) {
+                buildEnv(runner, env, affected);
             }
-            announce("\nGenerated [" + env + "] configs in " + (NANOSECONDS.toMillis(nanoTime() - startTime)) + "ms");
         });
+        return runner;
+    }
+
+    private boolean isComponentConfig(Microconfig microconfig, File file) {
+        if (!file.toPath().startsWith(new File(rootDir, COMPONENTS_DIR).toPath())) return false;
+
+        String extension = getExtension(file);
+        return microconfig.dependencies().configTypeRepository().getConfigTypes().stream()
+                .anyMatch(t -> t.getSourceExtensions().contains(extension));
+    }
+
+    private Map<String, ComponentDependencies> dependenciesOf(Microconfig microconfig, Set<String> envs) {
+        Map<String, ComponentDependencies> dependencies = new HashMap<>();
+        envs.forEach(env -> dependencies.put(env, collectFrom(microconfig.inEnvironment(env).findComponentsFrom(groups, services), configTypeFilter())));
+        return dependencies;
+    }
+
+    private List<String> affectedComponents(ComponentDependencies before, ComponentDependencies after, Set<String> changedFolders) {
+        Set<String> affected = after.affectedBy(changedFolders);
+        before.affectedBy(changedFolders).stream()
+                .filter(after::contains)
+                .forEach(affected::add);
+        return new ArrayList<>(affected);
+    }
+
+    //each env is built to the end, the first failed env is reported with failures of the others suppressed
+    private void buildInParallel(MicroconfigRunner runner, Set<String> envs) {
+        ExecutorService executor = newFixedThreadPool(min(parallelEnvs, envs.size()));
+        try {
+            List<Future<?>> builds = forEach(envs, env -> executor.submit(() -> buildEnv(runner, env, services)));
+            Throwable failure = null;
+            for (Future<?> build : builds) {
+                Throwable buildFailure = await(build);
+                if (buildFailure == null) continue;
+
+                if (failure == null) {
+                    failure = buildFailure;
+                } else {
+                    failure.addSuppressed(buildFailure);
+                }
+            }
+            rethrow(failure);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Throwable await(Future<?> build) {
+        try {
+            build.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for environment build", e);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    private void rethrow(Throwable failure) {
+        if (failure == null) return;
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        throw new IllegalStateException(failure);
+    }
+
+    private void buildEnv(MicroconfigRunner runner, String env, List<String> components) {
+        long startTime = nanoTime();
+        if (shard == null) {
+            buildComponents(runner, env, components);
+        } else {
+            buildShard(runner, env, components);
+        }
+        announce("\nGenerated [" + env + "] configs in " + (NANOSECONDS.toMillis(nanoTime() - startTime)) + "ms");
+    }
+
+    //build time of each component is recorded on every path, so the next split is by cost
+    private void buildShard(MicroconfigRunner runner, String env, List<String> components) {
+        ShardedBuild shardedBuild = new ShardedBuild(runner, shard, shardCosts);
+        if (incremental) {
+            List<String> shardComponents = shardedBuild.componentsOf(env, groups, components);
+            if (!shardComponents.isEmpty()) {
+                runner.getIncrementalBuild().withCosts(shardCosts).build(env, groups, shardComponents, configTypes);
+            }
+        } else if (jsonOutput) {
+            List<ConfigResult> results = shardedBuild.build(env, groups, components, configTypeFilter(), asConfigResult());
+            if (!results.isEmpty()) {
+                System.out.println(toJson(results));
+            }
+        } else {
+            shardedBuild.build(env, groups, components, configTypeFilter());
+        }
+    }
+
+    private void buildComponents(MicroconfigRunner runner, String env, List<String> components) {
+        if (jsonOutput) {
+            List<ConfigResult> results = runner.buildProperties(env, groups, components, configTypeFilter()).save(asConfigResult());
+            System.out.println(toJson(results));
+        } else if (incremental) {
+            runner.getIncrementalBuild().build(env, groups, components, configTypes);
+        } else {
+            runner.buildProperties(env, groups, components, configTypeFilter()).save(runner.toFiles());
+        }
+    }
+
+    private ConfigTypeFilter configTypeFilter() {
+        return configTypes.isEmpty() ? eachConfigType() : configTypeWithName(configTypes.toArray(new String[0]));
     }
 
-    private Set<String> environmentsToBuild() {
+    private Set<String> environmentsToBuild(MicroconfigRunner runner) {
         if (!environments.contains("*")) {
             return environments.stream()
                     .filter(e -> !e.startsWith("!"))
                     .collect(toCollection(LinkedHashSet::new));
         }
 
-        return new MicroconfigRunner(rootDir, new File(destinationDir))
-                .getMicroconfig()
+        return runner.getMicroconfig()
                 .environments()
                 .environmentNames()
                 .stream()
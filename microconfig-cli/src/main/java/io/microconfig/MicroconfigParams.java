@@ -1,5 +1,6 @@
 package io.microconfig;
 
+import io.microconfig.core.sharding.Shard;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
@@ -7,7 +8,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-import static io.microconfig.CommandLineParamParser.printErrorAndExit;
+import static io.microconfig.core.sharding.Shard.parseShard;
 
 @RequiredArgsConstructor
 public class MicroconfigParams {
@@ -33,6 +34,10 @@ public class MicroconfigParams {
         return parser.listValue("s");
     }
 
+    public List<String> configTypes() {
+        return parser.listValue("t");
+    }
+
     public boolean stacktrace() {
         return parser.booleanValue("stacktrace");
     }
@@ -50,16 +55,69 @@ public class MicroconfigParams {
         String env = parser.value("e");
         if (env != null) {
             if (env.equals("*")) {
-                printErrorAndExit("use -envs instead of -e to pass `*` as a value");
+                throw new InvalidParamException("use -envs instead of -e to pass `*` as a value");
             }
             environments.add(env);
         }
         if (environments.isEmpty()) {
-            printErrorAndExit("set `-e (environment)` or `-envs (env1),(env2)...`");
+            throw new InvalidParamException("set `-e (environment)` or `-envs (env1),(env2)...`");
         }
         return environments;
     }
 
+    public int parallelEnvs() {
+        int parallelEnvs = parser.intValue("parallelEnvs", 1);
+        if (parallelEnvs < 1) {
+            throw new InvalidParamException("`-parallelEnvs` must be a positive number");
+        }
+        return parallelEnvs;
+    }
+
+    public boolean watch() {
+        return parser.booleanValue("watch");
+    }
+
+    public boolean incremental() {
+        return parser.booleanValue("incremental");
+    }
+
+    public boolean parseCache() {
+        return parser.booleanValue("parseCache");
+    }
+
+    public boolean sourceLocations() {
+        boolean noLocations = parser.booleanValue("noSourceLocations");
+        if (noLocations && parseCache()) {
+            throw new InvalidParamException("`--noSourceLocations` can't be used with `--parseCache`");
+        }
+        return !noLocations;
+    }
+
+    public int profileTop() {
+        if (!parser.booleanValue("profile")) return 0;
+
+        int top = parser.intValue("profileTop", 20);
+        if (top < 1) {
+            throw new InvalidParamException("`-profileTop` must be a positive number");
+        }
+        return top;
+    }
+
+    public Shard shard() {
+        String shard = parser.value("shard");
+        if (shard == null) return null;
+
+        try {
+            return parseShard(shard);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParamException("`--shard` " + e.getMessage());
+        }
+    }
+
+    public File shardCosts() {
+        return new File(parser.valueOr("shardCosts", destinationDir() + "/.microconfig-shard-costs.properties"));
+    }
+
     public boolean isSingleEnvBuild() {
         return parser.contains("e") && !parser.contains("envs");
     }
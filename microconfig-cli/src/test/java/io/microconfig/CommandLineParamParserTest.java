@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CommandLineParamParserTest {
     @Test
@@ -17,4 +18,13 @@ class CommandLineParamParserTest {
         assertEquals(asList("s1", "s2"), params.listValue("s"));
         assertEquals(emptyList(), params.listValue("empty"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void flagsWithoutValue() {
+        CommandLineParamParser params = CommandLineParamParser.parse("--watch", "-e", "dev", "--output", "json", "--stacktrace");
+        assertTrue(params.booleanValue("watch"));
+        assertEquals("dev", params.value("e"));
+        assertEquals("json", params.value("output"));
+        assertTrue(params.booleanValue("stacktrace"));
+    }
+}
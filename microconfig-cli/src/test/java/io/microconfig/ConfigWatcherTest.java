@@ -0,0 +1,38 @@
+package io.microconfig;
+
+import io.microconfig.ConfigWatcher.SourceChanges;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.utils.FileUtils.write;
+import static java.time.Duration.ofSeconds;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigWatcherTest {
+    @TempDir
+    File root;
+
+    @Test
+    void collectsChangedFiles() {
+        File config = new File(root, "components/c1/application.yaml");
+        write(config, "key: 1");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - c1");
+        ConfigWatcher watcher = new ConfigWatcher(root);
+
+        write(config, "key: 2");
+        SourceChanges changes = assertTimeoutPreemptively(ofSeconds(30), watcher::awaitChanges);
+        assertTrue(changes.getChangedFiles().contains(config));
+        assertFalse(changes.isReloadRequired());
+    }
+
+    @Test
+    void newComponentDirRequiresReload() {
+        write(new File(root, "components/c1/application.yaml"), "key: 1");
+        ConfigWatcher watcher = new ConfigWatcher(root);
+
+        assertTrue(new File(root, "components/c2").mkdir());
+        assertTrue(assertTimeoutPreemptively(ofSeconds(30), watcher::awaitChanges).isReloadRequired());
+    }
+}
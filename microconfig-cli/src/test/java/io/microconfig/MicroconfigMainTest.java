@@ -13,6 +13,7 @@ import static io.microconfig.utils.FileUtils.getName;
 import static io.microconfig.utils.IoUtils.readFully;
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MicroconfigMainTest {
     @TempDir
@@ -45,6 +46,27 @@ class MicroconfigMainTest {
         }
     }
 
+    @Test
+    void should_generate_config_for_multiple_envs_in_parallel() {
+        List<String> environments = asList("env1", "env2", "env3");
+        MicroconfigMain.main("-envs", String.join(",", environments), "-parallelEnvs", "2", "-r", escape(root), "-d", escape(destinationDir.getAbsolutePath()));
+        for (String component : components) {
+            for (String environment : environments) {
+                checkConfigGeneratedFor(component, environment);
+            }
+        }
+    }
+
+    @Test
+    void should_build_other_envs_in_parallel_when_one_fails() {
+        assertThrows(RuntimeException.class, () -> MicroconfigMain.main("-envs", "env1,missing,env3", "-parallelEnvs", "2", "-stacktrace", "true",
+                "-r", escape(root), "-d", escape(destinationDir.getAbsolutePath())));
+        for (String component : components) {
+            checkConfigGeneratedFor(component, "env1");
+            checkConfigGeneratedFor(component, "env3");
+        }
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"env1, *", "*, env1", "*"})
     void should_generate_config_for_all_envs_when_star_in_envs_list(String envs) {
@@ -1,5 +1,6 @@
 package io.microconfig;
 
+import io.microconfig.core.sharding.Shard;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
@@ -18,6 +19,7 @@ class MicroconfigParamsTest {
             "-envs", "dev, test",
             "-g", "g1,g2",
             "-s", "s1, s2",
+            "-t", "app,deploy",
             "-output", "json"
     );
     MicroconfigParams empty = MicroconfigParams.parse();
@@ -56,6 +58,40 @@ class MicroconfigParamsTest {
         assertEquals(emptyList(), empty.services());
     }
 
+    @Test
+    void configTypes() {
+        assertEquals(asList("app", "deploy"), params.configTypes());
+        assertEquals(emptyList(), empty.configTypes());
+    }
+
+    @Test
+    void shard() {
+        assertEquals(new Shard(2, 4), parse("--shard", "2/4").shard());
+        assertNull(empty.shard());
+        assertThrows(InvalidParamException.class, () -> parse("--shard", "5/4").shard());
+    }
+
+    @Test
+    void parseCache() {
+        assertFalse(empty.parseCache());
+        assertTrue(parse("--parseCache").parseCache());
+    }
+
+    @Test
+    void sourceLocations() {
+        assertTrue(empty.sourceLocations());
+        assertFalse(parse("--noSourceLocations").sourceLocations());
+        assertThrows(InvalidParamException.class, () -> parse("--noSourceLocations", "--parseCache").sourceLocations());
+    }
+
+    @Test
+    void profileTop() {
+        assertEquals(0, empty.profileTop());
+        assertEquals(20, parse("--profile").profileTop());
+        assertEquals(5, parse("--profile", "-profileTop", "5").profileTop());
+        assertThrows(InvalidParamException.class, () -> parse("--profile", "-profileTop", "0").profileTop());
+    }
+
     @Test
     void jsonOutput() {
         assertFalse(empty.jsonOutput());
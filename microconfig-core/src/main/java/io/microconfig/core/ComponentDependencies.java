@@ -0,0 +1,98 @@
+package io.microconfig.core;
+
+import io.microconfig.core.configtypes.ConfigTypeFilter;
+import io.microconfig.core.environments.Components;
+import io.microconfig.core.properties.Property;
+import io.microconfig.core.properties.TypedProperties;
+import io.microconfig.core.properties.resolvers.placeholder.Placeholder;
+import io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+
+import static io.microconfig.core.configtypes.ConfigTypeFilters.eachConfigType;
+import static io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders.findPlaceholderIn;
+import static java.util.Collections.disjoint;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toCollection;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Links components to the component folders their raw properties come from (own files and includes)
+ * and to the components they reference in placeholders.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public class ComponentDependencies {
+    private final Map<String, String> originalNames;
+    private final Map<String, Set<String>> sourceFolders;
+    private final Map<String, Set<String>> references;
+
+    public static ComponentDependencies collectFrom(Components components) {
+        return collectFrom(components, eachConfigType());
+    }
+
+    public static ComponentDependencies collectFrom(Components components, ConfigTypeFilter configTypes) {
+        Map<String, String> originalNames = new LinkedHashMap<>();
+        Map<String, Set<String>> sourceFolders = new HashMap<>();
+        Map<String, Set<String>> references = new HashMap<>();
+        components.asList().forEach(c -> originalNames.put(c.getName(), c.getOriginalName()));
+
+        for (TypedProperties tp : components.getPropertiesFor(configTypes).asTypedProperties()) {
+            String component = tp.getDeclaringComponent().getComponent();
+            Set<String> folders = sourceFolders.computeIfAbsent(component, __ -> new HashSet<>());
+            Set<String> referenced = references.computeIfAbsent(component, __ -> new HashSet<>());
+            for (Property p : tp.getProperties()) {
+                folders.add(p.getDeclaringComponent().getComponent());
+                referenced.addAll(referencedComponentsIn(p.getValue()));
+            }
+        }
+        return new ComponentDependencies(originalNames, sourceFolders, references);
+    }
+
+    public static Set<String> referencedComponentsIn(String value) {
+        return placeholdersIn(value, "").stream()
+                .map(Placeholder::getComponent)
+                .collect(toCollection(LinkedHashSet::new));
+    }
+
+    public static List<Placeholder> placeholdersIn(String value, String contextConfigType) {
+        List<Placeholder> placeholders = new ArrayList<>();
+        int from = 0;
+        Optional<PlaceholderBorders> borders;
+        while ((borders = findPlaceholderIn(value, from)).isPresent()) {
+            placeholders.add(borders.get().toPlaceholder(contextConfigType, ""));
+            from = borders.get().getStartIndex() + 2;
+        }
+        return placeholders;
+    }
+
+    public boolean contains(String component) {
+        return originalNames.containsKey(component);
+    }
+
+    public Set<String> affectedBy(Set<String> changedFolders) {
+        Set<String> affected = new LinkedHashSet<>();
+        Set<String> affectedNames = new HashSet<>(changedFolders);
+        originalNames.keySet().stream()
+                .filter(c -> !disjoint(sourceFolders.getOrDefault(c, emptySet()), changedFolders))
+                .forEach(c -> markAffected(c, affected, affectedNames));
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (String c : originalNames.keySet()) {
+                if (affected.contains(c) || disjoint(references.getOrDefault(c, emptySet()), affectedNames)) continue;
+
+                markAffected(c, affected, affectedNames);
+                changed = true;
+            }
+        }
+        return affected;
+    }
+
+    private void markAffected(String component, Set<String> affected, Set<String> affectedNames) {
+        affected.add(component);
+        affectedNames.add(component);
+        affectedNames.add(originalNames.get(component));
+    }
+}
@@ -1,7 +1,9 @@
 package io.microconfig.core;
 
+import io.microconfig.core.configtypes.ConfigType;
 import io.microconfig.core.configtypes.ConfigTypeRepository;
 import io.microconfig.core.configtypes.StandardConfigTypeRepository;
+import io.microconfig.core.environments.CachedComponentFactory;
 import io.microconfig.core.environments.ComponentFactory;
 import io.microconfig.core.environments.ComponentFactoryImpl;
 import io.microconfig.core.environments.Environment;
@@ -9,12 +11,23 @@ import io.microconfig.core.environments.EnvironmentRepository;
 import io.microconfig.core.environments.repository.EnvironmentException;
 import io.microconfig.core.environments.repository.FileEnvironmentRepository;
 import io.microconfig.core.environments.repository.LazyInitEnvRepository;
+import io.microconfig.core.parsecache.CachedConfigIo;
+import io.microconfig.core.parsecache.ParseCache;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.*;
+import io.microconfig.core.properties.io.selector.CachedConfigFormatDetector;
+import io.microconfig.core.properties.io.selector.ConfigFormatDetectorImpl;
+import io.microconfig.core.properties.repository.CachedPropertiesRepository;
 import io.microconfig.core.properties.repository.ComponentGraph;
+import io.microconfig.core.properties.repository.ComponentGraphImpl;
 import io.microconfig.core.properties.repository.EnvProfilesComponentGraph;
 import io.microconfig.core.properties.repository.FilePropertiesRepository;
+import io.microconfig.core.properties.repository.ParsedConfigCache;
+import io.microconfig.core.properties.resolvers.CachedResolver;
 import io.microconfig.core.properties.resolvers.RecursiveResolver;
 import io.microconfig.core.properties.resolvers.expression.ExpressionResolver;
+import io.microconfig.core.properties.resolvers.expression.functions.FileReads;
+import io.microconfig.core.properties.resolvers.placeholder.CachedPlaceholderResolveStrategy;
 import io.microconfig.core.properties.resolvers.placeholder.PlaceholderResolver;
 import io.microconfig.core.properties.resolvers.placeholder.strategies.component.ComponentProperty;
 import io.microconfig.core.properties.resolvers.placeholder.strategies.component.ComponentResolveStrategy;
@@ -23,19 +36,27 @@ import io.microconfig.core.properties.resolvers.placeholder.strategies.environme
 import io.microconfig.core.properties.resolvers.placeholder.strategies.environment.EnvironmentResolveStrategy;
 import io.microconfig.core.properties.resolvers.placeholder.strategies.environment.properties.EnvironmentProperties;
 import io.microconfig.core.properties.resolvers.placeholder.strategies.standard.StandardResolveStrategy;
-import io.microconfig.io.DumpedFsReader;
+import io.microconfig.io.CachingFsReader;
 import io.microconfig.io.FsReader;
+import io.microconfig.utils.CacheBudget;
+import io.microconfig.utils.Memos;
+import io.microconfig.utils.SymbolTable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
 import lombok.experimental.Accessors;
 
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static io.microconfig.core.configtypes.CompositeConfigTypeRepository.composite;
 import static io.microconfig.core.configtypes.CustomConfigTypeRepository.findDescriptorIn;
+import static io.microconfig.core.environments.repository.FileEnvironmentRepository.ENV_DIR;
+import static io.microconfig.core.parsecache.ParseCache.noParseCache;
+import static io.microconfig.core.profiling.Phase.COMPONENT_GRAPH;
 import static io.microconfig.core.properties.io.selector.ConfigIoFactory.newConfigIo;
 import static io.microconfig.core.properties.repository.ComponentGraphImpl.traverseFrom;
 import static io.microconfig.core.properties.repository.CompositePropertiesRepository.compositeOf;
@@ -43,13 +64,15 @@ import static io.microconfig.core.properties.resolvers.ChainedResolver.chainOf;
 import static io.microconfig.core.properties.resolvers.placeholder.strategies.composite.CompositeResolveStrategy.composite;
 import static io.microconfig.core.properties.resolvers.placeholder.strategies.system.SystemResolveStrategy.envVariablesResolveStrategy;
 import static io.microconfig.core.properties.resolvers.placeholder.strategies.system.SystemResolveStrategy.systemPropertiesResolveStrategy;
-import static io.microconfig.utils.CacheProxy.cache;
+import static io.microconfig.utils.CacheBudget.unlimited;
 import static io.microconfig.utils.CollectionUtils.join;
 import static io.microconfig.utils.CollectionUtils.joinToSet;
 import static io.microconfig.utils.FileUtils.canonical;
 import static io.microconfig.utils.Logger.enableLogger;
+import static io.microconfig.utils.StreamUtils.forEach;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toSet;
 import static lombok.AccessLevel.PRIVATE;
 
 @Accessors(fluent = true)
@@ -60,11 +83,19 @@ public class Microconfig {
     @With
     private final File destinationDir;
     @With
+    private final boolean destinationDirPerEnv;
+    @With
     private final FsReader fsReader;
     @With
     private final List<PlaceholderResolveStrategy> additionalPlaceholderResolvers;
     @With
     private final List<PropertiesRepository> additionalPropertiesRepositories;
+    private final ParseCache parseCache;
+    //without them properties don't keep the file and line they are declared at
+    private final boolean sourceLocations;
+    @With(PRIVATE)
+    private final CacheBudget cacheBudget;
+    private final BuildProfiler profiler;
 
     private final Dependencies dependencies = new Dependencies();
 
@@ -73,7 +104,38 @@ public class Microconfig {
         if (!canonical.exists()) {
             throw new IllegalArgumentException("Root directory doesn't exist: " + rootDir);
         }
-        return new Microconfig(canonical, new File(rootDir, "build"), new DumpedFsReader(), emptyList(), emptyList());
+        return new Microconfig(canonical, new File(rootDir, "build"), false, new CachingFsReader(), emptyList(), emptyList(), noParseCache(), true, unlimited(), new BuildProfiler());
+    }
+
+    /**
+     * Bounds memory retained by caches of parsed files and resolved properties, for long-running processes.
+     * The least recently used entries are evicted when the limit is exceeded.
+     */
+    public Microconfig withCacheLimit(long maxBytes) {
+        CacheBudget budget = new CacheBudget(maxBytes);
+        Microconfig limited = withCacheBudget(budget);
+        return fsReader instanceof CachingFsReader ? limited.withFsReader(new CachingFsReader(budget)) : limited;
+    }
+
+    /**
+     * Parsed files are stored with the lines properties are declared at, so the parse cache requires source locations.
+     */
+    public Microconfig withParseCache(ParseCache parseCache) {
+        checkParseCacheWith(parseCache, sourceLocations);
+        return new Microconfig(rootDir, destinationDir, destinationDirPerEnv, fsReader, additionalPlaceholderResolvers, additionalPropertiesRepositories,
+                parseCache, sourceLocations, cacheBudget, profiler);
+    }
+
+    public Microconfig withSourceLocations(boolean sourceLocations) {
+        checkParseCacheWith(parseCache, sourceLocations);
+        return new Microconfig(rootDir, destinationDir, destinationDirPerEnv, fsReader, additionalPlaceholderResolvers, additionalPropertiesRepositories,
+                parseCache, sourceLocations, cacheBudget, profiler);
+    }
+
+    private static void checkParseCacheWith(ParseCache parseCache, boolean sourceLocations) {
+        if (parseCache.isEnabled() && !sourceLocations) {
+            throw new IllegalArgumentException("Parse cache can't be used without source locations");
+        }
     }
 
     public Environment inEnvironment(String name) {
@@ -84,6 +146,10 @@ public class Microconfig {
         return env;
     }
 
+    public File destinationDirFor(String environment) {
+        return destinationDirPerEnv ? new File(destinationDir, environment) : destinationDir;
+    }
+
     public EnvironmentRepository environments() {
         return dependencies.environments();
     }
@@ -92,6 +158,53 @@ public class Microconfig {
         return dependencies.resolver();
     }
 
+    public void invalidate(Collection<File> files) {
+        if (files.isEmpty()) return;
+
+        //rootDir is canonical, so are the files read from it
+        List<File> changedFiles = forEach(files, f -> canonical(f));
+        if (fsReader instanceof CachingFsReader) {
+            ((CachingFsReader) fsReader).invalidate(changedFiles);
+        }
+        dependencies.componentFolders().refresh(changedFiles);
+        if (changedFiles.stream().anyMatch(this::isEnvironmentFile)) {
+            //environments affect every component
+            dependencies.invalidateEnvironments();
+            dependencies.parsedConfigs().invalidate();
+            dependencies.propertiesCaches().invalidate();
+            return;
+        }
+        dependencies.invalidateComponentsOf(changedFiles);
+    }
+
+    /**
+     * Drops everything read and resolved so far, except the layout of component folders.
+     */
+    public void invalidateAll() {
+        dependencies.invalidateEnvironments();
+        if (fsReader instanceof CachingFsReader) {
+            ((CachingFsReader) fsReader).invalidateAll();
+        }
+        dependencies.parsedConfigs().invalidate();
+        dependencies.propertiesCaches().invalidate();
+        dependencies.componentCaches().invalidate();
+        dependencies.symbols().clear();
+        dependencies.configSources().clear();
+    }
+
+    public String cacheStats() {
+        return String.join("\n",
+                dependencies.componentCaches().toString(),
+                dependencies.parsedConfigs().toString(),
+                dependencies.propertiesCaches().toString(),
+                cacheBudget.toString()
+        );
+    }
+
+    private boolean isEnvironmentFile(File file) {
+        return file.toPath().startsWith(new File(rootDir, ENV_DIR).toPath());
+    }
+
     public void logger(boolean enabled) {
         enableLogger(enabled);
     }
@@ -99,6 +212,24 @@ public class Microconfig {
     public class Dependencies {
         private final LazyInitEnvRepository lazyEnvironments = new LazyInitEnvRepository();
         @Getter(lazy = true)
+        private final Memos componentCaches = new Memos(cacheBudget);
+        @Getter(lazy = true)
+        private final Memos propertiesCaches = new Memos(cacheBudget);
+        @Getter(lazy = true)
+        private final ParsedConfigCache parsedConfigs = new ParsedConfigCache(cacheBudget);
+        @Getter(lazy = true)
+        private final SymbolTable symbols = new SymbolTable(cacheBudget);
+        @Getter(lazy = true)
+        private final FileReads fileReads = new FileReads();
+        @Getter(lazy = true)
+        private final ConfigSources configSources = new ConfigSources(symbols(), sourceLocations, cacheBudget);
+        private volatile FileEnvironmentRepository fileEnvironments;
+        private volatile CachedConfigFormatDetector configFormats;
+        private volatile CachedPropertiesRepository cachedProperties;
+        private volatile CachedPropertiesFactory cachedPropertiesFactory;
+        private volatile CachedPlaceholderResolveStrategy cachedPlaceholders;
+        private volatile CachedResolver cachedResolver;
+        @Getter(lazy = true)
         private final EnvironmentRepository environments = initEnvironments();
         @Getter(lazy = true)
         private final ComponentFactory componentFactory = initComponentFactory();
@@ -107,79 +238,125 @@ public class Microconfig {
         @Getter(lazy = true)
         private final PropertiesFactory propertiesFactory = initPropertiesFactory();
         @Getter(lazy = true)
+        private final ComponentGraphImpl componentFolders = profiler.profile(COMPONENT_GRAPH, null, () -> traverseFrom(rootDir));
+        @Getter(lazy = true)
         private final ComponentGraph componentGraph = initComponentGraph();
         @Getter(lazy = true)
         private final Resolver resolver = initResolver();
 
+        //parsed environments are memoized by the repository itself
         private EnvironmentRepository initEnvironments() {
-            EnvironmentRepository repo = cache(new FileEnvironmentRepository(
+            fileEnvironments = new FileEnvironmentRepository(
                     rootDir,
                     fsReader,
                     componentFactory(),
-                    propertiesFactory())
+                    propertiesFactory(),
+                    parseCache,
+                    profiler,
+                    componentCaches()
             );
-            lazyEnvironments.setDelegate(repo);
-            return repo;
+            lazyEnvironments.setDelegate(fileEnvironments);
+            return fileEnvironments;
+        }
+
+        private void invalidateEnvironments() {
+            if (fileEnvironments != null) {
+                fileEnvironments.invalidate();
+            }
+        }
+
+        /**
+         * Drops cached entries read from the changed files, or depending on their components through includes,
+         * then entries of components that got them. Resolved values are dropped entirely,
+         * as they depend on other components through placeholders.
+         */
+        private void invalidateComponentsOf(List<File> changedFiles) {
+            Set<String> changedFolders = changedFiles.stream()
+                    .map(f -> f.getParentFile().getName())
+                    .collect(toSet());
+            Set<String> components = parsedConfigs().invalidate(changedFiles, changedFolders);
+            components.addAll(changedFolders);
+            if (configFormats != null) {
+                configFormats.invalidate(changedFiles);
+            }
+            if (cachedProperties != null) {
+                components.addAll(cachedProperties.invalidateComponents(components, changedFolders));
+            }
+            if (cachedPropertiesFactory != null) {
+                components.addAll(cachedPropertiesFactory.invalidateComponents(components, changedFolders));
+            }
+            if (cachedPlaceholders != null) {
+                cachedPlaceholders.invalidateComponents(components, changedFolders);
+            }
+            if (cachedResolver != null) {
+                cachedResolver.invalidate();
+            }
         }
 
         private ComponentFactory initComponentFactory() {
-            return cache(new ComponentFactoryImpl(
+            return new CachedComponentFactory(new ComponentFactoryImpl(
                     configTypeRepository(),
                     propertiesFactory()
-            ));
+            ), componentCaches());
         }
 
         private PropertiesFactory initPropertiesFactory() {
             PropertiesRepository fileRepository = new FilePropertiesRepository(
                     componentGraph(),
                     lazyEnvironments,
-                    newConfigIo(fsReader)
+                    new CachedConfigIo(newConfigIo(configFormats = new CachedConfigFormatDetector(new ConfigFormatDetectorImpl(fsReader), propertiesCaches()), fsReader, configSources()), parseCache, fsReader, configSources()),
+                    parsedConfigs(),
+                    fsReader,
+                    profiler
             );
 
-            return cache(new PropertiesFactoryImpl(
-                    cache(compositeOf(additionalPropertiesRepositories, fileRepository))
-            ));
+            cachedProperties = new CachedPropertiesRepository(compositeOf(additionalPropertiesRepositories, fileRepository), propertiesCaches());
+            cachedPropertiesFactory = new CachedPropertiesFactory(new PropertiesFactoryImpl(cachedProperties, profiler, configSources()), propertiesCaches());
+            return cachedPropertiesFactory;
         }
 
         public Resolver initResolver() {
-            return cache(chainOf(
+            cachedResolver = new CachedResolver(chainOf(
                     initPlaceholderResolver(),
-                    new ExpressionResolver()
-            ));
+                    new ExpressionResolver(profiler, fileReads())
+            ), propertiesCaches(), symbols(), fileReads());
+            return cachedResolver;
         }
 
         private RecursiveResolver initPlaceholderResolver() {
-            Map<String, ComponentProperty> componentSpecialProperties = new ComponentProperties(componentGraph(), environments(), rootDir, destinationDir).get();
+            Map<String, ComponentProperty> componentSpecialProperties = new ComponentProperties(componentGraph(), environments(), rootDir, Microconfig.this::destinationDirFor).get();
             Map<String, EnvProperty> envSpecialProperties = new EnvironmentProperties().get();
 
-            PlaceholderResolveStrategy strategy = cache(composite(join(
+            cachedPlaceholders = new CachedPlaceholderResolveStrategy(composite(join(
                     additionalPlaceholderResolvers,
                     asList(
-                            systemPropertiesResolveStrategy(),
-                            envVariablesResolveStrategy(),
-                            new ComponentResolveStrategy(componentSpecialProperties),
-                            new EnvironmentResolveStrategy(environments(), envSpecialProperties),
+                            systemPropertiesResolveStrategy(configSources()),
+                            envVariablesResolveStrategy(configSources()),
+                            new ComponentResolveStrategy(componentSpecialProperties, configSources()),
+                            new EnvironmentResolveStrategy(environments(), envSpecialProperties, configSources()),
                             new StandardResolveStrategy(environments())
                     )
-            )));
+            )), propertiesCaches());
 
             return new PlaceholderResolver(
                     lazyEnvironments,
-                    strategy,
-                    joinToSet(componentSpecialProperties.keySet(), envSpecialProperties.keySet())
+                    cachedPlaceholders,
+                    joinToSet(componentSpecialProperties.keySet(), envSpecialProperties.keySet()),
+                    profiler,
+                    configSources()
             );
         }
 
         private ConfigTypeRepository initConfigTypeRepository() {
-            return cache(composite(
+            List<ConfigType> configTypes = composite(
                     findDescriptorIn(rootDir, fsReader),
                     new StandardConfigTypeRepository()
-            ));
+            ).getConfigTypes();
+            return () -> configTypes;
         }
 
         private ComponentGraph initComponentGraph() {
-            ComponentGraph standard = traverseFrom(rootDir);
-            return new EnvProfilesComponentGraph(standard, lazyEnvironments);
+            return new EnvProfilesComponentGraph(componentFolders(), lazyEnvironments);
         }
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package io.microconfig.core;
 
+import io.microconfig.core.configtypes.ConfigTypeFilter;
+import io.microconfig.core.environments.Components;
+import io.microconfig.core.incremental.IncrementalBuild;
+import io.microconfig.core.parsecache.ParseCache;
 import io.microconfig.core.properties.Properties;
 import io.microconfig.core.properties.PropertySerializer;
 import lombok.Getter;
@@ -10,6 +14,7 @@ import java.util.List;
 
 import static io.microconfig.core.Microconfig.searchConfigsIn;
 import static io.microconfig.core.configtypes.ConfigTypeFilters.eachConfigType;
+import static io.microconfig.core.incremental.IncrementalBuild.incrementalBuildOf;
 import static io.microconfig.core.properties.serializers.PropertySerializers.*;
 import static io.microconfig.core.properties.templates.TemplatesService.resolveTemplatesBy;
 
@@ -17,18 +22,43 @@ import static io.microconfig.core.properties.templates.TemplatesService.resolveT
 @RequiredArgsConstructor
 public class MicroconfigRunner {
     private final Microconfig microconfig;
+    @Getter(lazy = true)
+    private final IncrementalBuild incrementalBuild = incrementalBuildOf(this);
 
     public MicroconfigRunner(File rootDir, File destinationDir) {
+        this(rootDir, destinationDir, false);
+    }
+
+    public MicroconfigRunner(File rootDir, File destinationDir, boolean destinationDirPerEnv) {
         this.microconfig = searchConfigsIn(rootDir)
-                .withDestinationDir(destinationDir);
+                .withDestinationDir(destinationDir)
+                .withDestinationDirPerEnv(destinationDirPerEnv);
+    }
+
+    public MicroconfigRunner withParseCache(ParseCache parseCache) {
+        return new MicroconfigRunner(microconfig.withParseCache(parseCache));
+    }
+
+    public MicroconfigRunner withSourceLocations(boolean sourceLocations) {
+        return new MicroconfigRunner(microconfig.withSourceLocations(sourceLocations));
+    }
+
+    public MicroconfigRunner withCacheLimit(long maxBytes) {
+        return new MicroconfigRunner(microconfig.withCacheLimit(maxBytes));
     }
 
     public Properties buildProperties(String env, List<String> groups, List<String> services) {
-        return microconfig.inEnvironment(env)
-                .findComponentsFrom(groups, services)
-                .getPropertiesFor(eachConfigType())
+        return buildProperties(env, groups, services, eachConfigType());
+    }
+
+    public Properties buildProperties(String env, List<String> groups, List<String> services, ConfigTypeFilter configTypes) {
+        return buildProperties(microconfig.inEnvironment(env).findComponentsFrom(groups, services), configTypes);
+    }
+
+    public Properties buildProperties(Components components, ConfigTypeFilter configTypes) {
+        return components.getPropertiesFor(configTypes)
                 .resolveBy(microconfig.resolver())
-                .forEachComponent(resolveTemplatesBy(microconfig.resolver()));
+                .forEachComponent(resolveTemplatesBy(microconfig.resolver(), microconfig.profiler()));
     }
 
     public void build(String env, List<String> groups, List<String> services) {
@@ -36,7 +66,7 @@ public class MicroconfigRunner {
     }
 
     public PropertySerializer<File> toFiles() {
-        return withLegacySupport(toFileIn(microconfig.destinationDir(), withConfigDiff()),
+        return withLegacySupport(toFileIn(microconfig::destinationDirFor, withConfigDiff(), microconfig.profiler()),
                 microconfig.environments()
         );
     }
@@ -19,7 +19,7 @@ import static java.util.Collections.singleton;
 
 @RequiredArgsConstructor
 public class CustomConfigTypeRepository implements ConfigTypeRepository {
-    private static final String DESCRIPTOR = "microconfig.yaml";
+    public static final String DESCRIPTOR = "microconfig.yaml";
 
     private final FsReader fsReader;
     private final File descriptorFile;
@@ -0,0 +1,29 @@
+package io.microconfig.core.environments;
+
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import lombok.Value;
+
+import java.util.function.Function;
+
+public class CachedComponentFactory implements ComponentFactory {
+    private final Memo<Key, Component> components;
+    private final Function<Key, Component> create;
+
+    public CachedComponentFactory(ComponentFactory delegate, Memos memos) {
+        this.components = memos.newMemo("components", (k, v) -> 112 + 2L * (k.name.length() + k.originalName.length()));
+        this.create = k -> delegate.createComponent(k.name, k.originalName, k.environment);
+    }
+
+    @Override
+    public Component createComponent(String componentName, String componentOriginalName, String environment) {
+        return components.get(new Key(componentName, componentOriginalName, environment), create);
+    }
+
+    @Value
+    private static class Key {
+        String name;
+        String originalName;
+        String environment;
+    }
+}
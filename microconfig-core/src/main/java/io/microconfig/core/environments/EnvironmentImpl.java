@@ -6,17 +6,21 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.function.Supplier;
 
 import static io.microconfig.utils.Logger.info;
 import static io.microconfig.utils.StreamUtils.*;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.ofNullable;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static lombok.AccessLevel.PRIVATE;
 
 @RequiredArgsConstructor
 public class EnvironmentImpl implements Environment {
@@ -36,22 +40,26 @@ public class EnvironmentImpl implements Environment {
     private final ComponentFactory componentFactory;
     private final PropertiesFactory propertiesFactory;
 
+    @Getter(value = PRIVATE, lazy = true)
+    private final Indexes indexes = new Indexes(groups);
+
     @Override
     public List<ComponentGroup> findGroupsWithIp(String ip) {
-        return filter(groups, g -> g.getIp().filter(ip::equals).isPresent());
+        return getIndexes().groupsByIp.getOrDefault(ip, emptyList());
     }
 
     @Override
     public ComponentGroup getGroupWithName(String groupName) {
-        return findGroup(group -> group.getName().equals(groupName),
-                () -> "groupName=" + groupName);
+        ComponentGroup group = getIndexes().groupByName.get(groupName);
+        if (group == null) {
+            throw new IllegalArgumentException("Can't find group by filter: 'groupName=" + groupName + "' in env '" + name + "'");
+        }
+        return group;
     }
 
     @Override
     public Optional<ComponentGroup> findGroupWithComponent(String componentName) {
-        return groups.stream()
-                .filter(g -> g.findComponentWithName(componentName).isPresent())
-                .findFirst();
+        return ofNullable(getIndexes().groupByComponent.get(componentName));
     }
 
     @Override
@@ -67,7 +75,7 @@ public class EnvironmentImpl implements Environment {
 
     @Override
     public Component getComponentWithName(String componentName) {
-        return findFirstResult(groups, g -> g.findComponentWithName(componentName))
+        return ofNullable(getIndexes().componentByName.get(componentName))
                 .orElseThrow(() -> new ComponentNotFoundException(componentName));
     }
 
@@ -81,10 +89,15 @@ public class EnvironmentImpl implements Environment {
 
     @Override
     public Component findComponentWithName(String componentName) {
-        return findFirstResult(groups, g -> g.findComponentWithName(componentName))
+        return ofNullable(getIndexes().componentByName.get(componentName))
                 .orElseGet(() -> componentFactory.createComponent(componentName, componentName, name));
     }
 
+    @Override
+    public Optional<Integer> findComponentOrder(String componentName) {
+        return ofNullable(getIndexes().orderByComponent.get(componentName));
+    }
+
     @Override
     public boolean isAbstract() {
         return abstractEnv;
@@ -116,16 +129,37 @@ public class EnvironmentImpl implements Environment {
         return c;
     }
 
-    private ComponentGroup findGroup(Predicate<ComponentGroup> groupPredicate,
-                                     Supplier<String> description) {
-        return groups.stream()
-                .filter(groupPredicate)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Can't find group by filter: '" + description.get() + "' in env '" + name + "'"));
-    }
-
     @Override
     public String toString() {
         return name + ": " + groups;
     }
+
+    /**
+     * Lookups used by placeholders, built on the first lookup.
+     * If a name repeats, the first group or component wins, as with a scan over groups.
+     */
+    private static class Indexes {
+        private final Map<String, ComponentGroup> groupByName = new HashMap<>();
+        private final Map<String, List<ComponentGroup>> groupsByIp = new HashMap<>();
+        private final Map<String, ComponentGroup> groupByComponent = new HashMap<>();
+        private final Map<String, Component> componentByName = new HashMap<>();
+        private final Map<String, Integer> orderByComponent = new HashMap<>();
+
+        private Indexes(List<ComponentGroup> groups) {
+            for (ComponentGroup group : groups) {
+                groupByName.putIfAbsent(group.getName(), group);
+                group.getIp().ifPresent(ip -> groupsByIp.computeIfAbsent(ip, k -> new ArrayList<>()).add(group));
+
+                List<Component> components = group.getComponents().asList();
+                for (int i = 0; i < components.size(); i++) {
+                    Component component = components.get(i);
+                    if (componentByName.putIfAbsent(component.getName(), component) == null) {
+                        groupByComponent.put(component.getName(), group);
+                        orderByComponent.put(component.getName(), i);
+                    }
+                }
+            }
+            groupsByIp.replaceAll((ip, ipGroups) -> unmodifiableList(ipGroups));
+        }
+    }
 }
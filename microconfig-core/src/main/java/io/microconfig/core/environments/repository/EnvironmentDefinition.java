@@ -23,6 +23,7 @@ class EnvironmentDefinition {
     private final String name;
     @Getter
     private final String ip;
+    @Getter
     private final boolean abstractEnv;
     private final int portOffset;
     private final List<String> profiles;
@@ -63,4 +64,12 @@ class EnvironmentDefinition {
                 propertiesFactory
         );
     }
-}
\ No newline at end of file
+
+    long estimatedBytes() {
+        long bytes = 128 + 2L * name.length();
+        for (ComponentGroupDefinition group : groups) {
+            bytes += 96 + 64L * group.getComponents().size();
+        }
+        return bytes;
+    }
+}
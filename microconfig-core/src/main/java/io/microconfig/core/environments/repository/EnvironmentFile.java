@@ -1,6 +1,7 @@
 package io.microconfig.core.environments.repository;
 
 import com.google.gson.Gson;
+import io.microconfig.core.parsecache.ParseCache;
 import io.microconfig.io.FsReader;
 import lombok.RequiredArgsConstructor;
 import org.yaml.snakeyaml.Yaml;
@@ -11,6 +12,7 @@ import java.util.Map.Entry;
 
 import static io.microconfig.core.environments.repository.ComponentDefinition.withAlias;
 import static io.microconfig.core.environments.repository.ComponentDefinition.withName;
+import static io.microconfig.core.parsecache.TreeCodec.TREE;
 import static io.microconfig.utils.FileUtils.getName;
 import static io.microconfig.utils.StreamUtils.forEach;
 import static java.lang.Boolean.TRUE;
@@ -32,10 +34,10 @@ class EnvironmentFile {
 
     private final File file;
 
-    public EnvironmentDefinition parseUsing(FsReader fsReader) {
+    public EnvironmentDefinition parseUsing(FsReader fsReader, ParseCache parseCache) {
         String name = getName(file);
         try {
-            return parse(parseToMap(fsReader), name);
+            return parse(parseCache.get(file, TREE, fsReader, () -> parseToMap(fsReader)), name);
         } catch (RuntimeException e) {
             throw new EnvironmentException("Can't parse environment '" + name + "'", e);
         }
@@ -4,27 +4,35 @@ import io.microconfig.core.environments.ComponentFactory;
 import io.microconfig.core.environments.Environment;
 import io.microconfig.core.environments.EnvironmentImpl;
 import io.microconfig.core.environments.EnvironmentRepository;
+import io.microconfig.core.parsecache.ParseCache;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.PropertiesFactory;
 import io.microconfig.io.FsReader;
 import io.microconfig.utils.FileUtils;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import static io.microconfig.core.parsecache.ParseCache.noParseCache;
+import static io.microconfig.core.profiling.Phase.ENV_PARSING;
 import static io.microconfig.utils.FileUtils.getName;
 import static io.microconfig.utils.FileUtils.walk;
 import static io.microconfig.utils.StreamUtils.*;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 
@@ -35,9 +43,36 @@ public class FileEnvironmentRepository implements EnvironmentRepository {
     private final FsReader fsReader;
     private final ComponentFactory componentFactory;
     private final PropertiesFactory propertiesFactory;
+    private final ParseCache parseCache;
+    private final BuildProfiler profiler;
+    private final Memo<File, EnvironmentDefinition> ownDefinitions;
+    private final Memo<File, EnvironmentDefinition> definitions;
+    private final Memo<File, Environment> environments;
+    private volatile EnvIndex index;
 
     public FileEnvironmentRepository(File rootDir, FsReader fsReader,
                                      ComponentFactory componentFactory, PropertiesFactory propertiesFactory) {
+        this(rootDir, fsReader, componentFactory, propertiesFactory, noParseCache());
+    }
+
+    public FileEnvironmentRepository(File rootDir, FsReader fsReader,
+                                     ComponentFactory componentFactory, PropertiesFactory propertiesFactory,
+                                     ParseCache parseCache) {
+        this(rootDir, fsReader, componentFactory, propertiesFactory, parseCache, new BuildProfiler());
+    }
+
+    public FileEnvironmentRepository(File rootDir, FsReader fsReader,
+                                     ComponentFactory componentFactory, PropertiesFactory propertiesFactory,
+                                     ParseCache parseCache, BuildProfiler profiler) {
+        this(rootDir, fsReader, componentFactory, propertiesFactory, parseCache, profiler, new Memos());
+    }
+
+    /**
+     * Parsed environments are kept in memos of the given group, so they are charged to its budget.
+     */
+    public FileEnvironmentRepository(File rootDir, FsReader fsReader,
+                                     ComponentFactory componentFactory, PropertiesFactory propertiesFactory,
+                                     ParseCache parseCache, BuildProfiler profiler, Memos memos) {
         this.envDir = new File(rootDir, ENV_DIR);
         this.propertiesFactory = propertiesFactory;
         if (!envDir.exists()) {
@@ -45,17 +80,26 @@ public class FileEnvironmentRepository implements EnvironmentRepository {
         }
         this.fsReader = fsReader;
         this.componentFactory = componentFactory;
+        this.parseCache = parseCache;
+        this.profiler = profiler;
+        this.ownDefinitions = memos.newMemo("env files", (f, d) -> d.estimatedBytes());
+        this.definitions = memos.newMemo("env definitions", (f, d) -> d.estimatedBytes());
+        this.environments = memos.newMemo("environments", (f, env) -> 96 + 64L * env.getGroups().size());
     }
 
     @Override
     public List<Environment> environments() {
-        List<Environment> all = forEach(environmentFiles(), parse());
+        List<Environment> all = forEach(index().files, this::environmentFrom);
         return filter(all, not(Environment::isAbstract));
     }
 
+    //abstract flag is set by the env file itself, so includes aren't processed here
     @Override
     public Set<String> environmentNames() {
-        return forEach(environments(), Environment::getName, toCollection(TreeSet::new));
+        return index().files.stream()
+                .filter(f -> !ownDefinitionOf(f).isAbstractEnv())
+                .map(FileUtils::getName)
+                .collect(toCollection(TreeSet::new));
     }
 
     @Override
@@ -68,42 +112,76 @@ public class FileEnvironmentRepository implements EnvironmentRepository {
         return findEnvWith(name).orElseGet(fakeEnvWith(name));
     }
 
+    /**
+     * Drops parsed environments. The env dir is listed again on the next lookup.
+     */
+    public void invalidate() {
+        index = null;
+        ownDefinitions.invalidate();
+        definitions.invalidate();
+        environments.invalidate();
+    }
+
     private Optional<Environment> findEnvWith(String name) {
-        return envFileWith(name).map(parse());
+        return envFileWith(name).map(this::environmentFrom);
     }
 
     private Optional<File> envFileWith(String name) {
-        List<File> envFiles = filter(environmentFiles(), withFileName(name));
+        List<File> envFiles = index().filesByName.getOrDefault(name, emptyList());
         if (envFiles.size() > 1) {
             throw new EnvironmentException("Found several env files with name: " + name);
         }
         return envFiles.isEmpty() ? empty() : of(envFiles.get(0));
     }
 
+    private Environment environmentFrom(File file) {
+        return environments.get(file, f -> definitionOf(f, new LinkedHashSet<>()).toEnvironment(componentFactory, propertiesFactory));
+    }
+
+    /**
+     * Base environments are resolved once and shared by all environments that include them.
+     */
+    private EnvironmentDefinition definitionOf(File file, Set<String> includeChain) {
+        return definitions.get(file, f -> {
+            String name = getName(f);
+            if (!includeChain.add(name)) {
+                throw new EnvironmentException("Cyclic include of environments: " + String.join(" -> ", includeChain) + " -> " + name);
+            }
+            EnvironmentDefinition definition = ownDefinitionOf(f)
+                    .processIncludeUsing(base -> definitionOf(envFileWith(base).orElseThrow(notFoundException(base)), includeChain))
+                    .checkComponentNamesAreUnique();
+            includeChain.remove(name);
+            return definition;
+        });
+    }
+
+    private EnvironmentDefinition ownDefinitionOf(File file) {
+        return ownDefinitions.get(file, f -> profiler.profile(ENV_PARSING, null, getName(f), null, null,
+                () -> new EnvironmentFile(f).parseUsing(fsReader, parseCache)));
+    }
+
+    private EnvIndex index() {
+        EnvIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    index = current = new EnvIndex(environmentFiles());
+                }
+            }
+        }
+        return current;
+    }
+
     private List<File> environmentFiles() {
+        List<File> files;
         try (Stream<Path> stream = walk(envDir.toPath())) {
-            return stream.map(Path::toFile)
+            files = stream.map(Path::toFile)
                     .filter(hasSupportedExtension())
                     .collect(toList());
         }
-    }
-
-    private Function<File, Environment> parse() {
-        return parseDefinition()
-                .andThen(def -> def.toEnvironment(componentFactory, propertiesFactory));
-    }
-
-    private Function<File, EnvironmentDefinition> parseDefinition() {
-        return f -> new EnvironmentFile(f)
-                .parseUsing(fsReader)
-                .processIncludeUsing(definitionRepository())
-                .checkComponentNamesAreUnique();
-    }
-
-    private Function<String, EnvironmentDefinition> definitionRepository() {
-        return name -> envFileWith(name)
-                .map(parseDefinition())
-                .orElseThrow(notFoundException(name));
+        files.forEach(fsReader::prefetch);
+        return files;
     }
 
     private Predicate<File> hasSupportedExtension() {
@@ -113,10 +191,6 @@ public class FileEnvironmentRepository implements EnvironmentRepository {
         };
     }
 
-    private Predicate<File> withFileName(String envName) {
-        return f -> getName(f).equals(envName);
-    }
-
     private Supplier<EnvironmentException> notFoundException(String name) {
         return () -> new EnvironmentException("Can't find env '" + name + "'. Available env files: " + envFileNames());
     }
@@ -127,6 +201,19 @@ public class FileEnvironmentRepository implements EnvironmentRepository {
 
     //prints env names, to avoid StackOverflowError if env can't be parsed
     private Set<String> envFileNames() {
-        return forEach(environmentFiles(), FileUtils::getName, toCollection(TreeSet::new));
+        return new TreeSet<>(index().filesByName.keySet());
+    }
+
+    /**
+     * Env files found by a single walk of the env dir.
+     */
+    private static class EnvIndex {
+        private final List<File> files;
+        private final Map<String, List<File>> filesByName;
+
+        private EnvIndex(List<File> files) {
+            this.files = files;
+            this.filesByName = files.stream().collect(groupingBy(FileUtils::getName));
+        }
     }
 }
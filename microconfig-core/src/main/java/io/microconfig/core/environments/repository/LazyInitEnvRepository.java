@@ -7,5 +7,5 @@ import lombok.experimental.Delegate;
 public class LazyInitEnvRepository implements EnvironmentRepository {
     @Setter
     @Delegate
-    private EnvironmentRepository delegate;
+    private volatile EnvironmentRepository delegate;
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package io.microconfig.core.incremental;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtils.readFully;
+import static io.microconfig.utils.Logger.warn;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Inputs and outputs of the previous build of each component, stored as json in the destination dir.
+ */
+class BuildManifest {
+    static final String MANIFEST_FILE = ".microconfig-manifest.json";
+    private static final int VERSION = 1;
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private int version = VERSION;
+    private ConcurrentHashMap<String, ComponentEntry> components = new ConcurrentHashMap<>();
+
+    static BuildManifest loadFrom(File file) {
+        if (!file.exists()) return new BuildManifest();
+
+        try {
+            BuildManifest manifest = gson.fromJson(readFully(file), BuildManifest.class);
+            if (manifest != null && manifest.version == VERSION && manifest.components != null) return manifest;
+        } catch (JsonParseException e) {
+            warn("Ignoring corrupted build manifest " + file + ": " + e.getMessage());
+        }
+        return new BuildManifest();
+    }
+
+    synchronized void saveTo(File file) {
+        Path tmp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        write(tmp, gson.toJson(this));
+        try {
+            Files.move(tmp, file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't save build manifest " + file, e);
+        }
+    }
+
+    ComponentEntry get(String environment, String component) {
+        return components.get(keyOf(environment, component));
+    }
+
+    void put(String environment, String component, ComponentEntry entry) {
+        components.put(keyOf(environment, component), entry);
+    }
+
+    private String keyOf(String environment, String component) {
+        return environment + "/" + component;
+    }
+
+    static class ComponentEntry {
+        String globalInputs;
+        Map<String, String> folders = new TreeMap<>();
+        Map<String, String> files = new TreeMap<>();
+        Map<String, String> outputs = new TreeMap<>();
+
+        boolean isUpToDate(SourceHashes hashes) {
+            return hashes.getGlobalInputs().equals(globalInputs)
+                    && folders.entrySet().stream().allMatch(e -> hashes.ofFolder(e.getKey()).equals(e.getValue()))
+                    && files.entrySet().stream().allMatch(e -> hashes.ofFile(new File(e.getKey())).equals(e.getValue()))
+                    && outputs.entrySet().stream().allMatch(e -> hashes.ofOutput(new File(e.getKey())).equals(e.getValue()));
+        }
+    }
+}
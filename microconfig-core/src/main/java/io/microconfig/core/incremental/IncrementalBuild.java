@@ -0,0 +1,206 @@
+package io.microconfig.core.incremental;
+
+import io.microconfig.core.Microconfig;
+import io.microconfig.core.MicroconfigRunner;
+import io.microconfig.core.configtypes.ConfigTypeFilter;
+import io.microconfig.core.environments.Component;
+import io.microconfig.core.environments.ComponentsImpl;
+import io.microconfig.core.environments.Environment;
+import io.microconfig.core.incremental.BuildManifest.ComponentEntry;
+import io.microconfig.core.properties.DeclaringComponent;
+import io.microconfig.core.properties.PropertiesFactory;
+import io.microconfig.core.properties.Property;
+import io.microconfig.core.properties.PropertySerializer;
+import io.microconfig.core.properties.TypedProperties;
+import io.microconfig.core.properties.repository.ComponentNotFoundException;
+import io.microconfig.core.properties.resolvers.expression.functions.FileReads;
+import io.microconfig.core.properties.resolvers.placeholder.Placeholder;
+import io.microconfig.core.sharding.ComponentCosts;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+import static io.microconfig.core.ComponentDependencies.placeholdersIn;
+import static io.microconfig.core.configtypes.ConfigTypeFilters.configTypeWithName;
+import static io.microconfig.core.configtypes.ConfigTypeFilters.eachConfigType;
+import static io.microconfig.core.incremental.BuildManifest.MANIFEST_FILE;
+import static io.microconfig.core.properties.serializers.ConfigDiff.diffFileFor;
+import static io.microconfig.utils.FileUtils.delete;
+import static io.microconfig.utils.Logger.info;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Builds only components whose inputs changed since the previous build.
+ * Inputs of a component are all files of the component folders its raw properties come from
+ * (including folders of components referenced by placeholders, transitively), templates, files read by
+ * expressions, all environment files and the microconfig descriptor.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public class IncrementalBuild {
+    private final MicroconfigRunner runner;
+    private final File manifestFile;
+    private final BuildManifest manifest;
+    //null if build times aren't recorded
+    private final ComponentCosts costs;
+
+    public static IncrementalBuild incrementalBuildOf(MicroconfigRunner runner) {
+        File manifestFile = new File(runner.getMicroconfig().destinationDir(), MANIFEST_FILE);
+        return new IncrementalBuild(runner, manifestFile, BuildManifest.loadFrom(manifestFile), null);
+    }
+
+    /**
+     * Rebuilt components are built one by one and their build time is recorded to the costs,
+     * so that sharded builds are split by cost.
+     */
+    public IncrementalBuild withCosts(ComponentCosts costs) {
+        return new IncrementalBuild(runner, manifestFile, manifest, costs);
+    }
+
+    public void build(String env, List<String> groups, List<String> services) {
+        build(env, groups, services, emptyList());
+    }
+
+    /**
+     * @param configTypes names of config types to build, all types if empty
+     */
+    public void build(String env, List<String> groups, List<String> services, List<String> configTypes) {
+        Microconfig microconfig = runner.getMicroconfig();
+        SourceHashes hashes = new SourceHashes(microconfig);
+        ConfigTypeFilter filter = configTypes.isEmpty() ? eachConfigType() : configTypeWithName(configTypes.toArray(new String[0]));
+        Environment environment = microconfig.inEnvironment(env);
+        List<Component> components = environment.findComponentsFrom(groups, services).asList();
+        List<Component> outdated = components.stream()
+                .filter(c -> !isUpToDate(env, keyOf(c, configTypes), hashes))
+                .collect(toList());
+        info((components.size() - outdated.size()) + " component(s) in [" + env + "] are up to date.");
+        if (outdated.isEmpty()) return;
+
+        BuildRecorder recorder = new BuildRecorder(env);
+        FileReads fileReads = microconfig.dependencies().fileReads();
+        fileReads.addListener(recorder);
+        try {
+            build(env, outdated, filter, recorder.recording(runner.toFiles()));
+        } finally {
+            fileReads.removeListener(recorder);
+        }
+
+        outdated.forEach(c -> manifest.put(env, keyOf(c, configTypes), entryFor(environment, c, filter, recorder, hashes)));
+        manifest.saveTo(manifestFile);
+        if (costs != null) {
+            costs.save();
+        }
+    }
+
+    private void build(String env, List<Component> components, ConfigTypeFilter filter, PropertySerializer<File> serializer) {
+        PropertiesFactory propertiesFactory = runner.getMicroconfig().dependencies().propertiesFactory();
+        if (costs == null) {
+            runner.buildProperties(new ComponentsImpl(components, propertiesFactory), filter).save(serializer);
+            return;
+        }
+
+        components.parallelStream().forEach(c -> costs.measure(env, c.getName(),
+                () -> runner.buildProperties(new ComponentsImpl(singletonList(c), propertiesFactory), filter).save(serializer)));
+    }
+
+    private String keyOf(Component component, List<String> configTypes) {
+        return configTypes.isEmpty() ? component.getName() : component.getName() + new TreeSet<>(configTypes);
+    }
+
+    private boolean isUpToDate(String env, String key, SourceHashes hashes) {
+        ComponentEntry entry = manifest.get(env, key);
+        if (entry == null || !entry.isUpToDate(hashes)) return false;
+
+        entry.outputs.keySet().forEach(output -> delete(diffFileFor(new File(output))));
+        return true;
+    }
+
+    private ComponentEntry entryFor(Environment environment, Component component, ConfigTypeFilter filter,
+                                    BuildRecorder recorder, SourceHashes hashes) {
+        ComponentEntry entry = new ComponentEntry();
+        entry.globalInputs = hashes.getGlobalInputs();
+        sourceFoldersOf(environment, component, filter).forEach(f -> entry.folders.put(f, hashes.ofFolder(f)));
+        recorder.inputsOf(component.getName())
+                .forEach(f -> entry.files.put(f.getAbsolutePath(), hashes.ofFile(f)));
+        recorder.outputsOf(component.getName()).stream()
+                .filter(File::isFile)
+                .forEach(f -> entry.outputs.put(f.getAbsolutePath(), hashes.ofOutput(f)));
+        return entry;
+    }
+
+    /**
+     * Follows placeholders with their config types, so folders of types that weren't built are not read.
+     */
+    private Set<String> sourceFoldersOf(Environment environment, Component component, ConfigTypeFilter filter) {
+        Set<String> folders = new TreeSet<>(singleton(component.getOriginalName()));
+        Set<String> visited = new HashSet<>();
+        Deque<TypedProperties> toVisit = new ArrayDeque<>(rawPropertiesOf(component, filter));
+        while (!toVisit.isEmpty()) {
+            TypedProperties current = toVisit.poll();
+            String configType = current.getConfigType().getName();
+            for (Property p : current.getProperties()) {
+                folders.add(p.getDeclaringComponent().getComponent());
+                for (Placeholder placeholder : placeholdersIn(p.getValue(), configType)) {
+                    Component referenced = placeholder.isSelfReferenced() ? component : environment.findComponentWithName(placeholder.getComponent());
+                    if (!visited.add(referenced.getName() + "::" + placeholder.getConfigType())) continue;
+
+                    folders.add(referenced.getOriginalName());
+                    toVisit.addAll(rawPropertiesOf(referenced, configTypeWithName(placeholder.getConfigType())));
+                }
+            }
+        }
+        return folders;
+    }
+
+    private List<TypedProperties> rawPropertiesOf(Component component, ConfigTypeFilter filter) {
+        try {
+            return component.getPropertiesFor(filter).asTypedProperties();
+        } catch (ComponentNotFoundException e) {
+            return emptyList();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class BuildRecorder implements BiConsumer<DeclaringComponent, File> {
+        private final String environment;
+        private final Map<String, Set<File>> inputs = new ConcurrentHashMap<>();
+        private final Map<String, Set<File>> outputs = new ConcurrentHashMap<>();
+
+        @Override
+        public void accept(DeclaringComponent root, File file) {
+            if (environment.equals(root.getEnvironment())) {
+                filesOf(inputs, root.getComponent()).add(file);
+            }
+        }
+
+        PropertySerializer<File> recording(PropertySerializer<File> serializer) {
+            return (properties, templates, configType, componentName, env) -> {
+                File result = serializer.serialize(properties, templates, configType, componentName, env);
+                filesOf(outputs, componentName).add(result);
+                templates.forEach(t -> {
+                    filesOf(inputs, componentName).add(t.getSource());
+                    filesOf(outputs, componentName).add(t.getDestination());
+                });
+                return result;
+            };
+        }
+
+        Set<File> inputsOf(String component) {
+            return filesOf(inputs, component);
+        }
+
+        Set<File> outputsOf(String component) {
+            return filesOf(outputs, component);
+        }
+
+        private Set<File> filesOf(Map<String, Set<File>> files, String component) {
+            return files.computeIfAbsent(component, __ -> ConcurrentHashMap.newKeySet());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.microconfig.core.incremental;
+
+import io.microconfig.core.Microconfig;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static io.microconfig.core.configtypes.CustomConfigTypeRepository.DESCRIPTOR;
+import static io.microconfig.core.environments.repository.FileEnvironmentRepository.ENV_DIR;
+import static io.microconfig.utils.FileUtils.walk;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Content hashes of build inputs. Each file and folder is hashed at most once per instance,
+ * so a new instance should be used for every build.
+ */
+@RequiredArgsConstructor
+class SourceHashes {
+    private static final String ABSENT = "";
+
+    private final Microconfig microconfig;
+    private final Map<File, String> fileHashes = new ConcurrentHashMap<>();
+    private final Map<String, String> folderHashes = new ConcurrentHashMap<>();
+    @Getter(lazy = true)
+    private final String globalInputs = hashGlobalInputs();
+
+    public String ofFile(File file) {
+        return fileHashes.computeIfAbsent(file.getAbsoluteFile(), SourceHashes::hash);
+    }
+
+    public String ofOutput(File file) {
+        return hash(file);
+    }
+
+    public String ofFolder(String component) {
+        return folderHashes.computeIfAbsent(component, this::hashFolder);
+    }
+
+    private String hashFolder(String component) {
+        return microconfig.dependencies().componentGraph()
+                .getFolderOf(component)
+                .map(File::toPath)
+                .map(this::hashFilesIn)
+                .orElse(ABSENT);
+    }
+
+    private String hashFilesIn(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            return hashAll(dir, files);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't list " + dir, e);
+        }
+    }
+
+    private String hashGlobalInputs() {
+        Path envDir = new File(microconfig.rootDir(), ENV_DIR).toPath();
+        String envs = Files.isDirectory(envDir) ? hashTree(envDir) : ABSENT;
+        return sha256((ofFile(new File(microconfig.rootDir(), DESCRIPTOR)) + ":" + envs).getBytes(UTF_8));
+    }
+
+    private String hashTree(Path dir) {
+        try (Stream<Path> files = walk(dir)) {
+            return hashAll(dir, files);
+        }
+    }
+
+    private String hashAll(Path dir, Stream<Path> files) {
+        StringBuilder content = new StringBuilder();
+        for (Path file : files.filter(Files::isRegularFile).sorted(comparing(Path::toString)).collect(toList())) {
+            content.append(dir.relativize(file)).append(':').append(ofFile(file.toFile())).append('\n');
+        }
+        return sha256(content.toString().getBytes(UTF_8));
+    }
+
+    private static String hash(File file) {
+        if (!file.isFile()) return ABSENT;
+
+        try {
+            return sha256(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read " + file, e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
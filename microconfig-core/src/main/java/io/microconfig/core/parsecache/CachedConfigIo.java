@@ -0,0 +1,77 @@
+package io.microconfig.core.parsecache;
+
+import io.microconfig.core.properties.ConfigSources;
+import io.microconfig.core.properties.Property;
+import io.microconfig.core.properties.io.ConfigIo;
+import io.microconfig.core.properties.io.ConfigReader;
+import io.microconfig.core.properties.io.ConfigWriter;
+import io.microconfig.io.DumpedFsReader;
+import io.microconfig.io.FsReader;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
+import static io.microconfig.utils.StreamUtils.toSortedMap;
+
+@RequiredArgsConstructor
+public class CachedConfigIo implements ConfigIo {
+    private final ConfigIo delegate;
+    private final ParseCache parseCache;
+    //the reader of the delegate
+    private final FsReader fsReader;
+    private final ConfigSources sources;
+
+    public CachedConfigIo(ConfigIo delegate, ParseCache parseCache) {
+        this(delegate, parseCache, new DumpedFsReader(), defaultSources());
+    }
+
+    @Override
+    public ConfigReader readFrom(File file) {
+        return new CachedConfigReader(file);
+    }
+
+    @Override
+    public ConfigWriter writeTo(File file) {
+        return delegate.writeTo(file);
+    }
+
+    @RequiredArgsConstructor
+    private class CachedConfigReader implements ConfigReader {
+        private final File file;
+        private ParsedConfig parsed;
+        private ConfigReader reader;
+
+        @Override
+        public List<Property> properties(String configType, String environment) {
+            if (parsed == null) {
+                parsed = parseCache.get(file, ParsedConfig.CODEC, fsReader, () -> ParsedConfig.parse(reader(), configType, environment));
+            }
+            return parsed.properties(file, configType, environment, sources);
+        }
+
+        @Override
+        public Map<String, String> propertiesAsMap() {
+            return properties("", "").stream()
+                    .collect(toSortedMap(Property::getKey, Property::getValue));
+        }
+
+        //files with #@Ignore are never parsed, so they aren't stored in the cache
+        @Override
+        public Map<Integer, String> commentsByLineNumber() {
+            if (parsed == null) {
+                parsed = parseCache.getIfValid(file, ParsedConfig.CODEC, fsReader);
+            }
+            return parsed == null ? reader().commentsByLineNumber() : parsed.getCommentsByLineNumber();
+        }
+
+        private ConfigReader reader() {
+            if (reader == null) {
+                reader = delegate.readFrom(file);
+            }
+            return reader;
+        }
+    }
+}
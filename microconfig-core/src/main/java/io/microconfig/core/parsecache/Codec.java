@@ -0,0 +1,13 @@
+package io.microconfig.core.parsecache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface Codec<T> {
+    String name();
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,225 @@
+package io.microconfig.core.parsecache;
+
+import io.microconfig.io.FsReader;
+import lombok.RequiredArgsConstructor;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static io.microconfig.utils.Logger.warn;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Parsed config and environment files stored in a binary file between builds.
+ * An entry is reused while the file has the same size and mtime, or the same content hash if the mtime changed.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public class ParseCache {
+    public static final String PARSE_CACHE_FILE = ".microconfig-parse-cache";
+    private static final int MAGIC = 0x4d435043;
+    private static final int VERSION = 1;
+    //mtime of a file changed less than this ago can't tell a later change of the same size
+    private static final long RACY_MTIME_MILLIS = 2000;
+
+    private final File file;
+    private final Map<String, Entry> entries;
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    public static ParseCache noParseCache() {
+        return new ParseCache(null, new ConcurrentHashMap<>());
+    }
+
+    public static ParseCache loadFrom(File file) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        Entry entry = Entry.read(in);
+                        entries.put(entry.path, entry);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                warn("Ignoring corrupted parse cache " + file + ": " + e.getMessage());
+                entries.clear();
+            }
+        }
+        return new ParseCache(file, entries);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * @param fsReader the reader the parser uses, so a miss hashes the bytes the parser reads instead of reading the file twice
+     */
+    public <T> T get(File source, Codec<T> codec, FsReader fsReader, Supplier<T> parser) {
+        if (!isEnabled()) return parser.get();
+
+        T cached = getIfValid(source, codec, fsReader);
+        if (cached != null) return cached;
+
+        BasicFileAttributes attributes = attributesOf(source);
+        byte[] hash = attributes == null ? null : hashOf(source, fsReader);
+        T parsed = parser.get();
+        if (hash != null) {
+            store(source, codec, attributes, hash, parsed);
+        }
+        return parsed;
+    }
+
+    public <T> T getIfValid(File source, Codec<T> codec, FsReader fsReader) {
+        if (!isEnabled()) return null;
+
+        String path = source.getAbsolutePath();
+        Entry entry = entries.get(path);
+        if (entry == null || !entry.codec.equals(codec.name())) return null;
+
+        BasicFileAttributes attributes = attributesOf(source);
+        if (attributes == null || attributes.size() != entry.size) return null;
+
+        long mtime = attributes.lastModifiedTime().toMillis();
+        if (mtime != entry.mtime) {
+            byte[] hash = hashOf(source, fsReader);
+            if (hash == null || !Arrays.equals(hash, entry.hash)) return null;
+
+            entry = new Entry(path, entry.size, stableMtime(mtime), entry.hash, entry.codec, entry.payload);
+            entries.put(path, entry);
+        }
+
+        used.add(path);
+        try {
+            return codec.read(new DataInputStream(new ByteArrayInputStream(entry.payload)));
+        } catch (IOException | RuntimeException e) {
+            entries.remove(path);
+            return null;
+        }
+    }
+
+    private <T> void store(File source, Codec<T> codec, BasicFileAttributes attributes, byte[] hash, T parsed) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try {
+            codec.write(parsed, new DataOutputStream(payload));
+        } catch (IOException | RuntimeException e) {
+            return; //values the codec doesn't support are just not cached
+        }
+
+        String path = source.getAbsolutePath();
+        long mtime = stableMtime(attributes.lastModifiedTime().toMillis());
+        entries.put(path, new Entry(path, attributes.size(), mtime, hash, codec.name(), payload.toByteArray()));
+        used.add(path);
+    }
+
+    private long stableMtime(long mtime) {
+        return currentTimeMillis() - mtime < RACY_MTIME_MILLIS ? -1 : mtime;
+    }
+
+    /**
+     * Keeps entries of files used by this build and of files that still exist.
+     */
+    public synchronized void save() {
+        if (!isEnabled()) return;
+
+        entries.keySet().removeIf(path -> !used.contains(path) && !new File(path).exists());
+        Path tmp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+        try {
+            Files.createDirectories(tmp.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Entry entry : entries.values()) {
+                    entry.write(out);
+                }
+            }
+            Files.move(tmp, file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't save parse cache " + file, e);
+        }
+    }
+
+    private BasicFileAttributes attributesOf(File source) {
+        try {
+            return Files.readAttributes(source.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] hashOf(File source, FsReader fsReader) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(fsReader.readBytes(source));
+        } catch (RuntimeException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void writeString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final String path;
+        private final long size;
+        private final long mtime;
+        private final byte[] hash;
+        private final String codec;
+        private final byte[] payload;
+
+        private static Entry read(DataInput in) throws IOException {
+            String path = readString(in);
+            long size = in.readLong();
+            long mtime = in.readLong();
+            byte[] hash = new byte[in.readInt()];
+            in.readFully(hash);
+            String codec = readString(in);
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            return new Entry(path, size, mtime, hash, codec, payload);
+        }
+
+        private void write(DataOutput out) throws IOException {
+            writeString(path, out);
+            out.writeLong(size);
+            out.writeLong(mtime);
+            out.writeInt(hash.length);
+            out.write(hash);
+            writeString(codec, out);
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+}
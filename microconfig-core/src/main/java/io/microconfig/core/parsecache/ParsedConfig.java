@@ -0,0 +1,133 @@
+package io.microconfig.core.parsecache;
+
+import io.microconfig.core.properties.ConfigFormat;
+import io.microconfig.core.properties.ConfigSource;
+import io.microconfig.core.properties.ConfigSources;
+import io.microconfig.core.properties.DeclaringComponent;
+import io.microconfig.core.properties.FileBasedComponent;
+import io.microconfig.core.properties.OverrideProperty;
+import io.microconfig.core.properties.Property;
+import io.microconfig.core.properties.io.ConfigReader;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static io.microconfig.core.parsecache.ParseCache.readString;
+import static io.microconfig.core.parsecache.ParseCache.writeString;
+import static io.microconfig.core.properties.OverrideProperty.overrideProperty;
+import static io.microconfig.core.properties.PropertyImpl.property;
+import static io.microconfig.core.properties.PropertyImpl.varProperty;
+import static io.microconfig.utils.StreamUtils.forEach;
+
+/**
+ * Comments and properties of a config file without the config type and environment they are read for.
+ */
+@RequiredArgsConstructor
+class ParsedConfig {
+    static final Codec<ParsedConfig> CODEC = new ParsedConfigCodec();
+
+    @Getter
+    private final Map<Integer, String> commentsByLineNumber;
+    private final List<ParsedProperty> properties;
+
+    static ParsedConfig parse(ConfigReader reader, String configType, String environment) {
+        List<Property> properties = reader.properties(configType, environment);
+        return new ParsedConfig(reader.commentsByLineNumber(), forEach(properties, ParsedProperty::of));
+    }
+
+    List<Property> properties(File file, String configType, String environment, ConfigSources sources) {
+        ConfigSource source = sources.sourceOf(file, configType, environment);
+        return forEach(properties, p -> p.toProperty(source));
+    }
+
+    @RequiredArgsConstructor
+    private static class ParsedProperty {
+        private final String key;
+        private final String value;
+        private final boolean var;
+        private final ConfigFormat configFormat;
+        private final int lineNumber;
+        private final boolean yaml;
+        private final boolean override;
+        private final String overrideEnvironment;
+
+        //without source locations a property has no line number
+        static ParsedProperty of(Property p) {
+            DeclaringComponent declaringComponent = p.getDeclaringComponent();
+            boolean located = declaringComponent instanceof FileBasedComponent;
+            boolean override = p instanceof OverrideProperty;
+            return new ParsedProperty(p.getKey(), p.getValue(), p.isVar(), p.getConfigFormat(),
+                    located ? ((FileBasedComponent) declaringComponent).getLineNumber() : -1,
+                    located ? ((FileBasedComponent) declaringComponent).isYaml() : p.getConfigFormat() == ConfigFormat.YAML,
+                    override, override ? ((OverrideProperty) p).getEnvironment() : null);
+        }
+
+        Property toProperty(ConfigSource source) {
+            DeclaringComponent declaringComponent = source.at(lineNumber, yaml);
+            String k = source.symbol(key);
+            Property p = var ? varProperty(k, value, configFormat, declaringComponent) : property(k, value, configFormat, declaringComponent);
+            return override ? overrideProperty(source.symbol(overrideEnvironment), p) : p;
+        }
+    }
+
+    private static class ParsedConfigCodec implements Codec<ParsedConfig> {
+        private static final int VAR = 1;
+        private static final int YAML = 2;
+        private static final int OVERRIDE = 4;
+
+        @Override
+        public String name() {
+            return "config";
+        }
+
+        @Override
+        public void write(ParsedConfig config, DataOutput out) throws IOException {
+            out.writeInt(config.commentsByLineNumber.size());
+            for (Map.Entry<Integer, String> comment : config.commentsByLineNumber.entrySet()) {
+                out.writeInt(comment.getKey());
+                writeString(comment.getValue(), out);
+            }
+
+            out.writeInt(config.properties.size());
+            for (ParsedProperty p : config.properties) {
+                writeString(p.key, out);
+                writeString(p.value, out);
+                out.writeByte((p.var ? VAR : 0) | (p.yaml ? YAML : 0) | (p.override ? OVERRIDE : 0));
+                out.writeByte(p.configFormat.ordinal());
+                out.writeInt(p.lineNumber);
+                writeString(p.overrideEnvironment, out);
+            }
+        }
+
+        @Override
+        public ParsedConfig read(DataInput in) throws IOException {
+            int commentCount = in.readInt();
+            Map<Integer, String> comments = new TreeMap<>();
+            for (int i = 0; i < commentCount; i++) {
+                comments.put(in.readInt(), readString(in));
+            }
+
+            int propertyCount = in.readInt();
+            List<ParsedProperty> properties = new ArrayList<>(propertyCount);
+            for (int i = 0; i < propertyCount; i++) {
+                String key = readString(in);
+                String value = readString(in);
+                int flags = in.readByte();
+                ConfigFormat format = ConfigFormat.values()[in.readByte()];
+                int lineNumber = in.readInt();
+                String overrideEnvironment = readString(in);
+                properties.add(new ParsedProperty(key, value, (flags & VAR) != 0, format, lineNumber,
+                        (flags & YAML) != 0, (flags & OVERRIDE) != 0, overrideEnvironment));
+            }
+            return new ParsedConfig(comments, properties);
+        }
+    }
+}
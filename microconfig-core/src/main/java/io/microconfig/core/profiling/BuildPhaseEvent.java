@@ -0,0 +1,26 @@
+package io.microconfig.core.profiling;
+
+import jdk.jfr.*;
+
+/**
+ * Recorded with {@code -XX:StartFlightRecording}. Phases shorter than the threshold are dropped,
+ * lower it with {@code io.microconfig.BuildPhase#threshold=0 ms} in recording settings to see every call.
+ */
+@Name("io.microconfig.BuildPhase")
+@Label("Build Phase")
+@Category("Microconfig")
+@Description("A phase of the config build for a component")
+@StackTrace(false)
+@Threshold("1 ms")
+class BuildPhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+    @Label("Component")
+    String component;
+    @Label("Environment")
+    String environment;
+    @Label("Config Type")
+    String configType;
+    @Label("Key")
+    String key;
+}
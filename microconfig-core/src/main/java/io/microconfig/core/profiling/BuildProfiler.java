@@ -0,0 +1,159 @@
+package io.microconfig.core.profiling;
+
+import io.microconfig.core.properties.DeclaringComponent;
+import jdk.jfr.EventType;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static io.microconfig.core.profiling.Phase.PLACEHOLDERS;
+import static java.lang.System.nanoTime;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Collects self time of build phases of one Microconfig instance when enabled. Time spent in a nested phase
+ * on the same thread is subtracted from the enclosing one, so phase totals don't overlap.
+ * Totals are summed across threads and can exceed wall-clock time of a parallel build.
+ * Each measured phase is also emitted as a JFR event while a flight recording is running.
+ */
+public class BuildProfiler {
+    private static final EventType buildPhaseEvents = EventType.getEventType(BuildPhaseEvent.class);
+    //a thread builds for one profiler at a time
+    private static final ThreadLocal<Deque<long[]>> nestedNanos = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private volatile boolean enabled;
+
+    private final Map<Phase, LongAdder> nanosByPhase = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> nanosByComponent = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> nanosByProperty = new ConcurrentHashMap<>();
+
+    public BuildProfiler() {
+        for (Phase phase : Phase.values()) {
+            nanosByPhase.put(phase, new LongAdder());
+        }
+    }
+
+    public void enableProfiling(boolean enable) {
+        enabled = enable;
+    }
+
+    public boolean isProfiling() {
+        return enabled;
+    }
+
+    public void reset() {
+        nanosByPhase.values().forEach(LongAdder::reset);
+        nanosByComponent.clear();
+        nanosByProperty.clear();
+    }
+
+    public void profile(Phase phase, String component, Runnable action) {
+        profile(phase, component, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T profile(Phase phase, String component, Supplier<T> action) {
+        return profile(phase, component, null, null, null, action);
+    }
+
+    public <T> T profile(Phase phase, DeclaringComponent component, String key, Supplier<T> action) {
+        if (!isMeasuring()) return action.get();
+
+        return measure(phase, component, key, false, action);
+    }
+
+    public <T> T profile(Phase phase, String component, String environment, String configType, String key,
+                         Supplier<T> action) {
+        return measure(phase, component, environment, configType, key, false, action);
+    }
+
+    /**
+     * Besides placeholder resolution phase, counts total time of the property (nested phases included) to find slow properties.
+     */
+    public <T> T profileProperty(DeclaringComponent root, String key, Supplier<T> action) {
+        if (!isMeasuring()) return action.get();
+
+        return measure(PLACEHOLDERS, root, key, true, action);
+    }
+
+    private boolean isMeasuring() {
+        return enabled || buildPhaseEvents.isEnabled();
+    }
+
+    private <T> T measure(Phase phase, DeclaringComponent component, String key, boolean isProperty, Supplier<T> action) {
+        if (component == null) {
+            return measure(phase, null, null, null, key, isProperty, action);
+        }
+        return measure(phase, component.getComponent(), component.getEnvironment(), component.getConfigType(), key, isProperty, action);
+    }
+
+    private <T> T measure(Phase phase, String component, String environment, String configType, String key,
+                          boolean isProperty, Supplier<T> action) {
+        boolean recording = buildPhaseEvents.isEnabled();
+        if (!enabled && !recording) return action.get();
+
+        BuildPhaseEvent event = recording ? new BuildPhaseEvent() : null;
+        Deque<long[]> stack = nestedNanos.get();
+        long[] nested = {0};
+        stack.push(nested);
+        if (event != null) {
+            event.begin();
+        }
+        long start = nanoTime();
+        try {
+            return action.get();
+        } finally {
+            long total = nanoTime() - start;
+            stack.pop();
+            if (!stack.isEmpty()) {
+                stack.peek()[0] += total;
+            }
+            if (enabled) {
+                record(phase, component, isProperty ? key : null, total, total - nested[0]);
+            }
+            if (event != null) {
+                commit(event, phase, component, environment, configType, key);
+            }
+        }
+    }
+
+    private void record(Phase phase, String component, String property, long total, long self) {
+        nanosByPhase.get(phase).add(self);
+        if (component == null) return;
+
+        nanosByComponent.computeIfAbsent(component, __ -> new LongAdder()).add(self);
+        if (property != null) {
+            nanosByProperty.computeIfAbsent(component + ":" + property, __ -> new LongAdder()).add(total);
+        }
+    }
+
+    private static void commit(BuildPhaseEvent event, Phase phase, String component, String environment, String configType, String key) {
+        event.end();
+        if (!event.shouldCommit()) return;
+
+        event.phase = phase.getTitle();
+        event.component = component;
+        event.environment = environment;
+        event.configType = configType;
+        event.key = key;
+        event.commit();
+    }
+
+    public ProfileReport report() {
+        Map<Phase, Long> phases = new EnumMap<>(Phase.class);
+        nanosByPhase.forEach((phase, nanos) -> phases.put(phase, nanos.sum()));
+        return new ProfileReport(phases, sumsOf(nanosByComponent), sumsOf(nanosByProperty));
+    }
+
+    private static Map<String, Long> sumsOf(Map<String, LongAdder> nanos) {
+        return nanos.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, e -> e.getValue().sum()));
+    }
+}
@@ -0,0 +1,19 @@
+package io.microconfig.core.profiling;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Phase {
+    COMPONENT_GRAPH("component graph walk"),
+    ENV_PARSING("environment parsing"),
+    CONFIG_READING("config reading"),
+    INCLUDES("include expansion"),
+    PLACEHOLDERS("placeholder resolution"),
+    EXPRESSIONS("expression evaluation"),
+    TEMPLATES("template rendering"),
+    WRITING("diff and write");
+
+    private final String title;
+}
@@ -0,0 +1,68 @@
+package io.microconfig.core.profiling;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+@Getter
+@RequiredArgsConstructor
+public class ProfileReport {
+    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Map<Phase, Long> nanosByPhase;
+    private final Map<String, Long> nanosByComponent;
+    private final Map<String, Long> nanosByProperty;
+
+    public List<Map.Entry<String, Long>> slowestComponents(int top) {
+        return slowest(nanosByComponent, top);
+    }
+
+    public List<Map.Entry<String, Long>> slowestProperties(int top) {
+        return slowest(nanosByProperty, top);
+    }
+
+    private List<Map.Entry<String, Long>> slowest(Map<String, Long> nanos, int top) {
+        return nanos.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(top)
+                .collect(toList());
+    }
+
+    public String toText(int top) {
+        StringBuilder result = new StringBuilder("\nBuild profile (self time summed across threads):\n");
+        nanosByPhase.forEach((phase, nanos) -> appendLine(result, phase.getTitle(), nanos));
+        result.append("Slowest components:\n");
+        slowestComponents(top).forEach(e -> appendLine(result, e.getKey(), e.getValue()));
+        result.append("Slowest properties:\n");
+        slowestProperties(top).forEach(e -> appendLine(result, e.getKey(), e.getValue()));
+        return result.toString();
+    }
+
+    private void appendLine(StringBuilder result, String name, long nanos) {
+        result.append(String.format("  %-40s %8dms%n", name, NANOSECONDS.toMillis(nanos)));
+    }
+
+    public String toJson(int top) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        Map<String, Long> phases = new LinkedHashMap<>();
+        nanosByPhase.forEach((phase, nanos) -> phases.put(phase.name().toLowerCase(), NANOSECONDS.toMicros(nanos)));
+        json.put("phasesMicros", phases);
+        json.put("slowestComponentsMicros", inMicros(slowestComponents(top)));
+        json.put("slowestPropertiesMicros", inMicros(slowestProperties(top)));
+        return gson.toJson(json);
+    }
+
+    private Map<String, Long> inMicros(List<Map.Entry<String, Long>> nanos) {
+        Map<String, Long> micros = new LinkedHashMap<>();
+        nanos.forEach(e -> micros.put(e.getKey(), NANOSECONDS.toMicros(e.getValue())));
+        return micros;
+    }
+}
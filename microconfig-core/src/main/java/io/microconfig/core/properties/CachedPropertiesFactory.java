@@ -0,0 +1,69 @@
+package io.microconfig.core.properties;
+
+import io.microconfig.core.configtypes.ConfigType;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static io.microconfig.core.properties.DeclaringComponentImpl.anyDeclaredIn;
+
+//flat() only wraps already built properties, so it isn't cached
+public class CachedPropertiesFactory implements PropertiesFactory {
+    private final PropertiesFactory delegate;
+    private final Memo<Key, Properties> properties;
+    private final Function<Key, Properties> read;
+
+    public CachedPropertiesFactory(PropertiesFactory delegate, Memos memos) {
+        this.delegate = delegate;
+        this.properties = memos.newMemo("component properties", (k, v) -> 64 + 48L * propertyCount(v));
+        this.read = k -> delegate.getPropertiesOf(k.componentName, k.componentOriginalName, k.environment, k.configTypes);
+    }
+
+    @Override
+    public Properties getPropertiesOf(String componentName, String componentOriginalName,
+                                      String environment, List<ConfigType> configTypes) {
+        return properties.get(new Key(componentName, componentOriginalName, environment, configTypes), read);
+    }
+
+    @Override
+    public Properties flat(List<Properties> properties) {
+        return delegate.flat(properties);
+    }
+
+    /**
+     * @return names of components whose properties were dropped, aliases included
+     */
+    public Set<String> invalidateComponents(Set<String> components, Set<String> changedFolders) {
+        Set<String> invalidated = ConcurrentHashMap.newKeySet();
+        properties.invalidateIf((k, v) -> {
+            boolean changed = components.contains(k.componentName) || components.contains(k.componentOriginalName)
+                    || v.asTypedProperties().stream().anyMatch(tp -> anyDeclaredIn(tp.getProperties(), changedFolders));
+            if (changed) {
+                invalidated.add(k.componentName);
+                invalidated.add(k.componentOriginalName);
+            }
+            return changed;
+        });
+        return invalidated;
+    }
+
+    //property maps are built per component, the properties themselves are shared with raw properties
+    private static long propertyCount(Properties properties) {
+        return properties.asTypedProperties().stream()
+                .mapToLong(tp -> tp.getProperties().size())
+                .sum();
+    }
+
+    @Value
+    private static class Key {
+        String componentName;
+        String componentOriginalName;
+        String environment;
+        List<ConfigType> configTypes;
+    }
+}
@@ -0,0 +1,68 @@
+package io.microconfig.core.properties;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.File;
+
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
+import static lombok.AccessLevel.NONE;
+
+/**
+ * A config file read for some config type and environment. All properties parsed from it share this instance,
+ * so a property location is just a reference to it plus a line number.
+ */
+@Getter
+@EqualsAndHashCode(exclude = {"sources", "component", "declaringComponent"})
+public class ConfigSource {
+    private final File file;
+    private final String configType;
+    private final String environment;
+    @Getter(NONE)
+    private final ConfigSources sources;
+    private String component;
+    @Getter(NONE)
+    private DeclaringComponent declaringComponent;
+
+    ConfigSource(File file, String configType, String environment, ConfigSources sources) {
+        this.file = file;
+        this.configType = sources.symbols().symbol(configType);
+        this.environment = sources.symbols().symbol(environment);
+        this.sources = sources;
+    }
+
+    public static ConfigSource configSource(File file, String configType, String environment) {
+        return defaultSources().sourceOf(file, configType, environment);
+    }
+
+    /**
+     * Dedups names parsed from this file with the other names of the build.
+     */
+    public String symbol(String name) {
+        return sources.symbols().symbol(name);
+    }
+
+    public String getComponent() {
+        if (component == null) {
+            component = symbol(file.getParentFile().getName());
+        }
+        return component;
+    }
+
+    /**
+     * Without source locations properties are declared by the component instance shared within the build,
+     * and error messages name the component instead of the file and line.
+     */
+    public DeclaringComponent at(int lineNumber, boolean yaml) {
+        if (sources.sourceLocations()) return location(lineNumber, yaml);
+
+        if (declaringComponent == null) {
+            declaringComponent = sources.declaringComponent(configType, getComponent(), environment);
+        }
+        return declaringComponent;
+    }
+
+    public FileBasedComponent location(int lineNumber, boolean yaml) {
+        return new FileBasedComponent(this, lineNumber, yaml);
+    }
+}
@@ -0,0 +1,58 @@
+package io.microconfig.core.properties;
+
+import io.microconfig.utils.CacheBudget;
+import io.microconfig.utils.SymbolTable;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.io.File;
+
+import static io.microconfig.utils.SymbolTable.noSymbols;
+
+/**
+ * Config sources read by one Microconfig instance: names parsed from them are deduped by its symbol table,
+ * and properties, placeholders and resolve strategies share the declaring component instances kept here.
+ */
+@Accessors(fluent = true)
+public class ConfigSources {
+    private static final ConfigSources DEFAULT = new ConfigSources(noSymbols(), true, null);
+
+    @Getter
+    private final SymbolTable symbols;
+    @Getter
+    private final boolean sourceLocations;
+    private final DeclaringComponentPool declaringComponents;
+
+    public ConfigSources(SymbolTable symbols, boolean sourceLocations, CacheBudget budget) {
+        this.symbols = symbols;
+        this.sourceLocations = sourceLocations;
+        this.declaringComponents = budget == null ? null : new DeclaringComponentPool(budget);
+    }
+
+    /**
+     * @return sources for files read outside of a build: with locations, without name dedup and shared components
+     */
+    public static ConfigSources defaultSources() {
+        return DEFAULT;
+    }
+
+    public ConfigSource sourceOf(File file, String configType, String environment) {
+        return new ConfigSource(file, configType, environment, this);
+    }
+
+    /**
+     * @return the instance shared within the build for these names
+     */
+    public DeclaringComponent declaringComponent(String configType, String component, String environment) {
+        if (declaringComponents == null || configType == null || component == null || environment == null) {
+            return new DeclaringComponentImpl(configType, component, environment);
+        }
+        return declaringComponents.get(configType, component, environment);
+    }
+
+    public void clear() {
+        if (declaringComponents != null) {
+            declaringComponents.clear();
+        }
+    }
+}
@@ -2,16 +2,27 @@ package io.microconfig.core.properties;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Set;
 
 @Getter
 @EqualsAndHashCode
-@RequiredArgsConstructor
 public class DeclaringComponentImpl implements DeclaringComponent {
     private final String configType;
     private final String component;
     private final String environment;
 
+    public DeclaringComponentImpl(String configType, String component, String environment) {
+        this.configType = configType;
+        this.component = component;
+        this.environment = environment;
+    }
+
+    public static boolean anyDeclaredIn(Collection<Property> properties, Set<String> components) {
+        return properties.stream().anyMatch(p -> components.contains(p.getDeclaringComponent().getComponent()));
+    }
+
     public static DeclaringComponent copyOf(DeclaringComponent c) {
         return c instanceof DeclaringComponentImpl ? c : new DeclaringComponentImpl(c.getConfigType(), c.getComponent(), c.getEnvironment());
     }
@@ -20,4 +31,4 @@ public class DeclaringComponentImpl implements DeclaringComponent {
     public String toString() {
         return component + "[" + environment + "]";
     }
-}
\ No newline at end of file
+}
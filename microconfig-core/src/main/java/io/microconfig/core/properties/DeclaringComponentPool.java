@@ -0,0 +1,64 @@
+package io.microconfig.core.properties;
+
+import io.microconfig.utils.CacheBudget;
+import io.microconfig.utils.CacheBudget.Candidate;
+import io.microconfig.utils.CacheBudget.Evictable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One declaring component instance per config type, component and environment of a build.
+ * Lookups go through maps keyed by the names, so they don't allocate once the instance exists.
+ * Like the symbol table, the pool is charged to the build's {@link CacheBudget} and evicted as a whole.
+ */
+class DeclaringComponentPool implements Evictable {
+    //instance and map node
+    private static final long INSTANCE_BYTES = 72;
+
+    private final CacheBudget budget;
+    //configType -> component -> environment
+    private final Map<String, Map<String, Map<String, DeclaringComponentImpl>>> components = new ConcurrentHashMap<>();
+    private final AtomicLong chargedBytes = new AtomicLong();
+    private volatile long lastUsed;
+
+    DeclaringComponentPool(CacheBudget budget) {
+        this.budget = budget;
+        budget.register(this);
+    }
+
+    DeclaringComponentImpl get(String configType, String component, String environment) {
+        Map<String, DeclaringComponentImpl> byEnv = components
+                .computeIfAbsent(configType, __ -> new ConcurrentHashMap<>())
+                .computeIfAbsent(component, __ -> new ConcurrentHashMap<>());
+        DeclaringComponentImpl existing = byEnv.get(environment);
+        if (existing != null) return existing;
+
+        DeclaringComponentImpl created = new DeclaringComponentImpl(configType, component, environment);
+        existing = byEnv.putIfAbsent(environment, created);
+        if (existing != null) return existing;
+
+        charge();
+        return created;
+    }
+
+    void clear() {
+        components.clear();
+        budget.release(chargedBytes.getAndSet(0));
+    }
+
+    @Override
+    public void collectEvictionCandidates(List<Candidate> candidates) {
+        if (!components.isEmpty()) {
+            candidates.add(new Candidate(lastUsed, this::clear));
+        }
+    }
+
+    private void charge() {
+        chargedBytes.addAndGet(INSTANCE_BYTES);
+        lastUsed = budget.now();
+        budget.charge(INSTANCE_BYTES);
+    }
+}
@@ -1,41 +1,67 @@
 package io.microconfig.core.properties;
 
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 
+import static io.microconfig.core.properties.ConfigSource.configSource;
 import static io.microconfig.utils.StringUtils.unixLikePath;
 
-@Getter
 @EqualsAndHashCode
-@RequiredArgsConstructor
 public class FileBasedComponent implements DeclaringComponent {
-    private final File source;
-    private final int lineNumber; //starts from 0
-    private final boolean yaml;
-    private final String configType;
-    private final String environment;
+    private final ConfigSource configSource;
+    //line number (starts from 0) in the upper bits, yaml flag in the lowest one
+    private final int position;
+
+    public FileBasedComponent(File source, int lineNumber, boolean yaml, String configType, String environment) {
+        this(configSource(source, configType, environment), lineNumber, yaml);
+    }
+
+    FileBasedComponent(ConfigSource configSource, int lineNumber, boolean yaml) {
+        this.configSource = configSource;
+        this.position = lineNumber << 1 | (yaml ? 1 : 0);
+    }
 
     public static FileBasedComponent fileSource(File file, int lineNumber, boolean yaml,
                                                 String configType, String environment) {
         return new FileBasedComponent(file, lineNumber, yaml, configType, environment);
     }
 
+    public File getSource() {
+        return configSource.getFile();
+    }
+
+    public int getLineNumber() {
+        return position >> 1;
+    }
+
+    public boolean isYaml() {
+        return (position & 1) != 0;
+    }
+
+    @Override
+    public String getConfigType() {
+        return configSource.getConfigType();
+    }
+
     @Override
     public String getComponent() {
-        return source.getParentFile().getName();
+        return configSource.getComponent();
+    }
+
+    @Override
+    public String getEnvironment() {
+        return configSource.getEnvironment();
     }
 
     @Override
     public String toString() {
-        return relativeSource() + ":" + (lineNumber + 1);
+        return relativeSource() + ":" + (getLineNumber() + 1);
     }
 
     private String relativeSource() {
-        String path = unixLikePath(source.toString());
+        String path = unixLikePath(getSource().toString());
         int rootIndex = path.indexOf("/components/");
         return rootIndex < 0 ? path : ".." + path.substring(rootIndex);
     }
-}
\ No newline at end of file
+}
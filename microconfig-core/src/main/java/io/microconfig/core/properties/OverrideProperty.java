@@ -1,5 +1,6 @@
 package io.microconfig.core.properties;
 
+import io.microconfig.utils.SymbolTable;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -19,13 +20,17 @@ public class OverrideProperty implements Property {
         return line.startsWith(".@") || line.startsWith("@") || line.startsWith("+");
     }
 
-    public static Property overrideProperty(String key, String value, ConfigFormat configFormat, DeclaringComponent source) {
+    public static Property overrideProperty(String key, String value, ConfigFormat configFormat, DeclaringComponent source, SymbolTable symbols) {
         boolean isVar = key.startsWith("@") || key.startsWith(".@");
         int offset = key.indexOf('.', 1);
         String envName = extractEnv(key, offset);
         String adjustedKey = key.substring(offset + 1);
-        Property delegate = new PropertyImpl(adjustedKey, value, isVar, configFormat, source);
-        return new OverrideProperty(envName, delegate);
+        Property delegate = new PropertyImpl(symbols.symbol(adjustedKey), value, isVar, configFormat, source);
+        return new OverrideProperty(symbols.symbol(envName), delegate);
+    }
+
+    public static Property overrideProperty(String environment, Property delegate) {
+        return new OverrideProperty(environment, delegate);
     }
 
     private static String extractEnv(String key, int offset) {
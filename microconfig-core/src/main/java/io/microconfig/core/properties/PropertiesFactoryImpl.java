@@ -1,6 +1,7 @@
 package io.microconfig.core.properties;
 
 import io.microconfig.core.configtypes.ConfigType;
+import io.microconfig.core.profiling.BuildProfiler;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
@@ -13,6 +14,8 @@ import static java.util.Collections.emptyList;
 @RequiredArgsConstructor
 public class PropertiesFactoryImpl implements PropertiesFactory {
     private final PropertiesRepository propertiesRepository;
+    private final BuildProfiler profiler;
+    private final ConfigSources sources;
 
     @Override
     public Properties getPropertiesOf(String componentName,
@@ -32,7 +35,7 @@ public class PropertiesFactoryImpl implements PropertiesFactory {
     private Function<ConfigType, TypedProperties> readConfigsFor(String componentName, String componentOriginalName, String environment) {
         return configType -> {
             Map<String, Property> properties = propertiesRepository.getPropertiesOf(componentOriginalName, environment, configType);
-            return new TypedPropertiesImpl(configType, componentName, environment, properties, emptyList());
+            return new TypedPropertiesImpl(configType, componentName, environment, properties, emptyList(), profiler, sources);
         };
     }
 }
\ No newline at end of file
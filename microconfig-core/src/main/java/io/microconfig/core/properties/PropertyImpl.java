@@ -1,29 +1,38 @@
 package io.microconfig.core.properties;
 
+import io.microconfig.core.properties.resolvers.CompiledValue;
+import io.microconfig.core.properties.resolvers.CompiledValueResolver;
+import io.microconfig.utils.SymbolTable;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.With;
 
 import static io.microconfig.utils.StringUtils.findFirstIndexIn;
+import static io.microconfig.utils.SymbolTable.noSymbols;
+import static lombok.AccessLevel.NONE;
 import static lombok.AccessLevel.PACKAGE;
-import static lombok.AccessLevel.PRIVATE;
 
 @Getter
-@EqualsAndHashCode
+@EqualsAndHashCode(exclude = "compiled")
 @RequiredArgsConstructor(access = PACKAGE)
 public class PropertyImpl implements Property {
     private static final String TEMP_VALUE = "#var ";
 
     private final String key;
-    @With(PRIVATE)
     private final String value;
     private final boolean var;
     private final ConfigFormat configFormat;
 
     private final DeclaringComponent declaringComponent;
+    //the same value is resolved for each component that includes it
+    @Getter(NONE)
+    private volatile CompiledValue compiled;
 
     public static Property parse(String keyValue, ConfigFormat configFormat, DeclaringComponent source) {
+        return parse(keyValue, configFormat, source, noSymbols());
+    }
+
+    public static Property parse(String keyValue, ConfigFormat configFormat, DeclaringComponent source, SymbolTable symbols) {
         boolean temp = isTempProperty(keyValue);
         int separatorIndex = findSeparatorIndexIn(keyValue);
         if (separatorIndex < 0) {
@@ -34,7 +43,7 @@ public class PropertyImpl implements Property {
         String key = keyValue.substring(temp ? TEMP_VALUE.length() : 0, separatorIndex).trim();
         String value = keyValue.substring(separatorIndex + 1).trim();
 
-        return new PropertyImpl(key, value, temp, configFormat, source);
+        return new PropertyImpl(symbols.symbol(key), value, temp, configFormat, source);
     }
 
     public static Property property(String key, String value, ConfigFormat configFormat, DeclaringComponent source) {
@@ -60,14 +69,32 @@ public class PropertyImpl implements Property {
     @Override
     public Property resolveBy(Resolver resolver, DeclaringComponent root) {
         try {
-            String resolved = resolver.resolve(value, declaringComponent, root);
-            return withValue(resolved);
+            if (!(resolver instanceof CompiledValueResolver)) {
+                return withValue(resolver.resolve(value, declaringComponent, root));
+            }
+
+            CompiledValueResolver compiledValueResolver = (CompiledValueResolver) resolver;
+            CompiledValue compiled = compiledValue(compiledValueResolver);
+            if (compiled.isLiteral()) return this;
+            return withValue(compiledValueResolver.resolve(compiled, declaringComponent, root));
         } catch (ResolveException e) {
             e.setProperty(this);
             throw e;
         }
     }
 
+    private Property withValue(String value) {
+        return this.value.equals(value) ? this : new PropertyImpl(key, value, var, configFormat, declaringComponent);
+    }
+
+    private CompiledValue compiledValue(CompiledValueResolver resolver) {
+        CompiledValue c = compiled;
+        if (c == null) {
+            compiled = c = resolver.compileValue(value);
+        }
+        return c;
+    }
+
     @Override
     public String toString() {
         return (var ? "#" : "") + key + "=" + value;
@@ -1,6 +1,7 @@
 package io.microconfig.core.properties;
 
 import io.microconfig.core.configtypes.ConfigType;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.io.yaml.YamlTreeImpl;
 import io.microconfig.core.templates.Template;
 import lombok.EqualsAndHashCode;
@@ -17,6 +18,7 @@ import java.util.function.UnaryOperator;
 import java.util.stream.Collector;
 
 import static io.microconfig.core.properties.ConfigFormat.YAML;
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
 import static io.microconfig.core.properties.PropertyImpl.property;
 import static io.microconfig.utils.StreamUtils.*;
 import static java.util.Optional.empty;
@@ -25,7 +27,7 @@ import static java.util.function.Function.identity;
 import static lombok.AccessLevel.PRIVATE;
 import static lombok.AccessLevel.PUBLIC;
 
-@EqualsAndHashCode
+@EqualsAndHashCode(exclude = {"profiler", "sources"})
 @RequiredArgsConstructor
 public class TypedPropertiesImpl implements TypedProperties {
     @Getter
@@ -36,10 +38,17 @@ public class TypedPropertiesImpl implements TypedProperties {
     private final Map<String, Property> propertyByKey;
     @With(PUBLIC)
     private final List<Template> templates;
+    private final BuildProfiler profiler;
+    private final ConfigSources sources;
+
+    public TypedPropertiesImpl(ConfigType configType, String component, String environment,
+                               Map<String, Property> propertyByKey, List<Template> templates) {
+        this(configType, component, environment, propertyByKey, templates, new BuildProfiler(), defaultSources());
+    }
 
     @Override
     public DeclaringComponent getDeclaringComponent() {
-        return new DeclaringComponentImpl(configType.getName(), component, environment);
+        return sources.declaringComponent(configType.getName(), component, environment);
     }
 
     @Override
@@ -103,7 +112,7 @@ public class TypedPropertiesImpl implements TypedProperties {
 
     private UnaryOperator<Property> resolveUsing(Resolver resolver) {
         DeclaringComponent root = getDeclaringComponent();
-        return property -> property.resolveBy(resolver, root);
+        return property -> profiler.profileProperty(root, property.getKey(), () -> property.resolveBy(resolver, root));
     }
 
     private Collector<Property, ?, Map<String, Property>> toPropertyMap() {
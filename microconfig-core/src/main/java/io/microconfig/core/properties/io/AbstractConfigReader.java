@@ -1,24 +1,35 @@
 package io.microconfig.core.properties.io;
 
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.Property;
 import io.microconfig.io.FsReader;
-import lombok.RequiredArgsConstructor;
+import io.microconfig.io.TextBuffer;
+import io.microconfig.utils.SymbolTable;
 
 import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import static io.microconfig.core.properties.PropertyImpl.isComment;
 import static io.microconfig.utils.StreamUtils.toSortedMap;
 
-@RequiredArgsConstructor
 public abstract class AbstractConfigReader implements ConfigReader {
     protected final File file;
+    protected final TextBuffer text;
     protected final List<String> lines;
+    protected final ConfigSources sources;
+    protected final SymbolTable symbols;
 
-    protected AbstractConfigReader(File file, FsReader fsReader) {
-        this(file, fsReader.readLines(file));
+    protected AbstractConfigReader(File file, FsReader fsReader, ConfigSources sources) {
+        this(file, fsReader.readText(file), sources);
+    }
+
+    protected AbstractConfigReader(File file, TextBuffer text, ConfigSources sources) {
+        this.file = file;
+        this.text = text;
+        this.lines = text.lines();
+        this.sources = sources;
+        this.symbols = sources.symbols();
     }
 
     @Override
@@ -27,15 +38,23 @@ public abstract class AbstractConfigReader implements ConfigReader {
                 .collect(toSortedMap(Property::getKey, Property::getValue));
     }
 
+    //only comment lines are materialized
     @Override
     public Map<Integer, String> commentsByLineNumber() {
         Map<Integer, String> result = new TreeMap<>();
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (!isComment(line)) continue;
-
-            result.put(i, line);
+        for (int i = 0; i < text.lineCount(); i++) {
+            int start = text.lineStart(i);
+            int end = text.lineEnd(i);
+            while (start < end && text.charAt(start) <= ' ') {
+                ++start;
+            }
+            if (start == end || text.charAt(start) != '#') continue;
+
+            while (text.charAt(end - 1) <= ' ') {
+                --end;
+            }
+            result.put(i, text.substring(start, end));
         }
         return result;
     }
-}
\ No newline at end of file
+}
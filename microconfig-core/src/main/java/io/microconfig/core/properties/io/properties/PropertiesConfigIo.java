@@ -1,5 +1,6 @@
 package io.microconfig.core.properties.io.properties;
 
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.io.ConfigIo;
 import io.microconfig.core.properties.io.ConfigReader;
 import io.microconfig.core.properties.io.ConfigWriter;
@@ -8,13 +9,20 @@ import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
+
 @RequiredArgsConstructor
 public class PropertiesConfigIo implements ConfigIo {
     private final FsReader fileFsReader;
+    private final ConfigSources sources;
+
+    public PropertiesConfigIo(FsReader fileFsReader) {
+        this(fileFsReader, defaultSources());
+    }
 
     @Override
     public ConfigReader readFrom(File file) {
-        return new PropertiesReader(file, fileFsReader);
+        return new PropertiesReader(file, fileFsReader, sources);
     }
 
     @Override
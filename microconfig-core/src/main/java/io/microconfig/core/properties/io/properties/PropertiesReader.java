@@ -1,5 +1,7 @@
 package io.microconfig.core.properties.io.properties;
 
+import io.microconfig.core.properties.ConfigSource;
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.io.AbstractConfigReader;
 import io.microconfig.io.FsReader;
@@ -9,18 +11,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static io.microconfig.core.properties.ConfigFormat.PROPERTIES;
-import static io.microconfig.core.properties.FileBasedComponent.fileSource;
 import static io.microconfig.core.properties.PropertyImpl.isComment;
 import static io.microconfig.core.properties.PropertyImpl.parse;
 import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
 
 class PropertiesReader extends AbstractConfigReader {
-    PropertiesReader(File file, FsReader fileFsReader) {
-        super(file, fileFsReader);
+    PropertiesReader(File file, FsReader fileFsReader, ConfigSources sources) {
+        super(file, fileFsReader, sources);
     }
 
     @Override
     public List<Property> properties(String configType, String environment) {
+        ConfigSource source = sources.sourceOf(file, configType, environment);
         List<Property> result = new ArrayList<>();
 
         StringBuilder currentLine = new StringBuilder();
@@ -36,7 +38,7 @@ class PropertiesReader extends AbstractConfigReader {
             }
 
             Property property = parse(currentLine.toString(), PROPERTIES,
-                    fileSource(file, lineNumber, false, configType, environment)
+                    source.at(lineNumber, false), symbols
             );
             result.add(property);
             currentLine.setLength(0);
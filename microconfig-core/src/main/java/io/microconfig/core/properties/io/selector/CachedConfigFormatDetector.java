@@ -0,0 +1,28 @@
+package io.microconfig.core.properties.io.selector;
+
+import io.microconfig.core.properties.ConfigFormat;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.function.Function;
+
+public class CachedConfigFormatDetector implements ConfigFormatDetector {
+    private final Memo<File, ConfigFormat> formats;
+    private final Function<File, ConfigFormat> detect;
+
+    public CachedConfigFormatDetector(ConfigFormatDetector delegate, Memos memos) {
+        this.formats = memos.newMemo("config formats");
+        this.detect = delegate::detectConfigFormat;
+    }
+
+    @Override
+    public ConfigFormat detectConfigFormat(File file) {
+        return formats.get(file, detect);
+    }
+
+    public void invalidate(Collection<File> files) {
+        files.forEach(formats::invalidate);
+    }
+}
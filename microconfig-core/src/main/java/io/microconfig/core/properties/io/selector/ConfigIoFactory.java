@@ -1,12 +1,14 @@
 package io.microconfig.core.properties.io.selector;
 
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.io.ConfigIo;
 import io.microconfig.core.properties.io.properties.PropertiesConfigIo;
 import io.microconfig.core.properties.io.yaml.YamlConfigIo;
 import io.microconfig.io.DumpedFsReader;
 import io.microconfig.io.FsReader;
+import io.microconfig.utils.Memos;
 
-import static io.microconfig.utils.CacheProxy.cache;
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
 
 public class ConfigIoFactory {
     private static final ConfigIo configIo = newConfigIo(new DumpedFsReader());
@@ -16,10 +18,18 @@ public class ConfigIoFactory {
     }
 
     public static ConfigIo newConfigIo(FsReader fsReader) {
+        return newConfigIo(new CachedConfigFormatDetector(new ConfigFormatDetectorImpl(fsReader), new Memos()), fsReader);
+    }
+
+    public static ConfigIo newConfigIo(ConfigFormatDetector formatDetector, FsReader fsReader) {
+        return newConfigIo(formatDetector, fsReader, defaultSources());
+    }
+
+    public static ConfigIo newConfigIo(ConfigFormatDetector formatDetector, FsReader fsReader, ConfigSources sources) {
         return new ConfigIoSelector(
-                cache(new ConfigFormatDetectorImpl(fsReader)),
-                new YamlConfigIo(fsReader),
-                new PropertiesConfigIo(fsReader)
+                formatDetector,
+                new YamlConfigIo(fsReader, sources),
+                new PropertiesConfigIo(fsReader, sources)
         );
     }
 }
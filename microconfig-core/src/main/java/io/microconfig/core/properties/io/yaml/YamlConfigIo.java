@@ -1,5 +1,6 @@
 package io.microconfig.core.properties.io.yaml;
 
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.io.ConfigIo;
 import io.microconfig.core.properties.io.ConfigReader;
 import io.microconfig.core.properties.io.ConfigWriter;
@@ -8,13 +9,20 @@ import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
+
 @RequiredArgsConstructor
 public class YamlConfigIo implements ConfigIo {
     private final FsReader fileFsReader;
+    private final ConfigSources sources;
+
+    public YamlConfigIo(FsReader fileFsReader) {
+        this(fileFsReader, defaultSources());
+    }
 
     @Override
     public ConfigReader readFrom(File file) {
-        return new YamlReader(file, fileFsReader);
+        return new YamlReader(file, fileFsReader, sources);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package io.microconfig.core.properties.io.yaml;
 
-import io.microconfig.core.properties.FileBasedComponent;
+import io.microconfig.core.properties.ConfigSource;
+import io.microconfig.core.properties.ConfigSources;
+import io.microconfig.core.properties.DeclaringComponent;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.io.AbstractConfigReader;
 import io.microconfig.io.FsReader;
@@ -13,88 +15,137 @@ import java.util.Deque;
 import java.util.List;
 
 import static io.microconfig.core.properties.ConfigFormat.YAML;
-import static io.microconfig.core.properties.FileBasedComponent.fileSource;
 import static io.microconfig.core.properties.OverrideProperty.isOverrideProperty;
 import static io.microconfig.core.properties.OverrideProperty.overrideProperty;
-import static io.microconfig.core.properties.PropertyImpl.isComment;
 import static io.microconfig.core.properties.PropertyImpl.property;
 import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
-import static io.microconfig.utils.StringUtils.isBlank;
 import static java.lang.Character.isWhitespace;
-import static java.lang.String.join;
-import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.IntStream.range;
-import static java.util.stream.Stream.concat;
-import static java.util.stream.Stream.of;
 
+/**
+ * Works on offsets of the file buffer. Indents, trim bounds and the next content line are computed
+ * once per line, and strings are created only for keys and values.
+ * Trim bounds follow {@link String#trim()}, indents follow {@link Character#isWhitespace}, as they differ for some chars.
+ */
 class YamlReader extends AbstractConfigReader {
-    YamlReader(File file, FsReader fileFsReader) {
-        super(file, fileFsReader);
+    private static final int NONE = -1;
+
+    //relative to line start, NONE for lines without such chars
+    private final int[] indent;
+    private final int[] trimStart;
+    private final int[] trimEnd;
+    //index of the next line that isn't blank or a comment, or lineCount
+    private final int[] nextContentLine;
+
+    YamlReader(File file, FsReader fileFsReader, ConfigSources sources) {
+        super(file, fileFsReader, sources);
+        int lineCount = text.lineCount();
+        this.indent = new int[lineCount];
+        this.trimStart = new int[lineCount];
+        this.trimEnd = new int[lineCount];
+        this.nextContentLine = new int[lineCount];
+        tokenizeLines();
+    }
+
+    private void tokenizeLines() {
+        int next = text.lineCount();
+        for (int i = text.lineCount() - 1; i >= 0; i--) {
+            int start = text.lineStart(i);
+            int end = text.lineEnd(i);
+            indent[i] = NONE;
+            trimStart[i] = NONE;
+            trimEnd[i] = 0;
+            for (int p = start; p < end; p++) {
+                char c = text.charAt(p);
+                if (indent[i] == NONE && !isWhitespace(c)) {
+                    indent[i] = p - start;
+                }
+                if (c > ' ') {
+                    if (trimStart[i] == NONE) {
+                        trimStart[i] = p - start;
+                    }
+                    trimEnd[i] = p - start + 1;
+                }
+            }
+            nextContentLine[i] = next;
+            if (!skip(i)) {
+                next = i;
+            }
+        }
     }
 
     @Override
     public List<Property> properties(String configType, String environment) {
+        ConfigSource source = sources.sourceOf(file, configType, environment);
         List<Property> result = new ArrayList<>();
         Deque<KeyOffset> currentProperty = new ArrayDeque<>();
 
-        for (int lineNumber = 0; lineNumber < lines.size(); lineNumber++) {
-            String line = lines.get(lineNumber);
-            if (skip(line)) continue;
+        for (int lineNumber = 0; lineNumber < text.lineCount(); lineNumber++) {
+            if (skip(lineNumber)) continue;
 
-            int currentOffset = offsetIndex(line);
-            String multiLineKey = multiLineKey(line, currentOffset);
+            int currentOffset = offsetIndex(lineNumber);
+            String multiLineKey = multiLineKey(lineNumber, currentOffset);
             if (multiLineKey != null) {
-                lineNumber = multiLineValue(result, multiLineKey, currentProperty, lineNumber, currentOffset, configType, environment);
-            } else if (isListValue(line)) {
-                lineNumber = listValue(result, currentProperty, currentOffset, lineNumber, configType, environment);
-            } else if (isComplexValue(line, currentOffset)) {
-                lineNumber = addComplexValue(result, currentProperty, currentOffset, lineNumber, configType, environment);
+                lineNumber = multiLineValue(result, multiLineKey, currentProperty, lineNumber, currentOffset, source);
+            } else if (isListValue(lineNumber)) {
+                lineNumber = listValue(result, currentProperty, currentOffset, lineNumber, source);
+            } else if (isComplexValue(lineNumber, currentOffset)) {
+                lineNumber = addComplexValue(result, currentProperty, currentOffset, lineNumber, source);
             } else {
-                parseSimpleProperty(result, currentProperty, currentOffset, lineNumber, configType, environment);
+                parseSimpleProperty(result, currentProperty, currentOffset, lineNumber, source);
             }
         }
 
         return result;
     }
 
-    private String multiLineKey(String line, int currentOffset) {
+    private String multiLineKey(int line, int currentOffset) {
         int separatorIndex = separatorIndex(line, currentOffset);
-        if (separatorIndex < 0 || separatorIndex == line.length() - 1) return null;
-        boolean multilinePostfix = line.chars()
-                .skip(separatorIndex + 1)
-                .filter(c -> !isWhitespace(c))
-                .mapToLong(c -> c == '|' ? 1 : 2)
-                .sum() == 1;
-        return multilinePostfix ? line.substring(0, separatorIndex) : null;
+        if (separatorIndex < 0 || separatorIndex == text.lineLength(line) - 1) return null;
+
+        int start = text.lineStart(line);
+        int pipes = 0;
+        int others = 0;
+        for (int p = start + separatorIndex + 1; p < text.lineEnd(line); p++) {
+            char c = text.charAt(p);
+            if (isWhitespace(c)) continue;
+            if (c == '|') {
+                ++pipes;
+            } else {
+                ++others;
+            }
+        }
+        boolean multilinePostfix = pipes == 1 && others == 0;
+        return multilinePostfix ? text.substring(start, start + separatorIndex) : null;
     }
 
-    private boolean isListValue(String line) {
-        String trim = line.trim();
-        return !trim.isEmpty() && trim.charAt(0) == '-' && !trim.endsWith(":");
+    private boolean isListValue(int line) {
+        if (trimStart[line] == NONE) return false;
+
+        int start = text.lineStart(line);
+        return text.charAt(start + trimStart[line]) == '-' && text.charAt(start + trimEnd[line] - 1) != ':';
     }
 
     private int listValue(List<Property> result,
                           Deque<KeyOffset> currentProperty, int currentOffset,
-                          int originalLineNumber, String configType, String env) {
+                          int originalLineNumber, ConfigSource source) {
         StringBuilder value = new StringBuilder();
         int index = originalLineNumber;
         while (true) {
-            String line = lines.get(index);
-            if (!skip(line)) value.append(line.substring(currentOffset));
+            if (!skip(index)) appendFrom(value, index, currentOffset);
 
-            if (index + 1 >= lines.size()) break;
-            if (listValueEnd(lines.get(index + 1), currentOffset)) break;
-            if (!skip(line)) value.append(LINES_SEPARATOR);
+            if (index + 1 >= text.lineCount()) break;
+            if (listValueEnd(index + 1, currentOffset)) break;
+            if (!skip(index)) value.append(LINES_SEPARATOR);
 
             ++index;
         }
 
-        addValue(result, currentProperty, currentOffset, originalLineNumber, null, value.toString().trim(), configType, env);
+        addValue(result, currentProperty, currentOffset, originalLineNumber, null, value.toString().trim(), source);
         return index;
     }
 
-    private boolean listValueEnd(String nextLine, int currentOffset) {
+    private boolean listValueEnd(int nextLine, int currentOffset) {
         if (skip(nextLine)) return false;
 
         int nextOffset = offsetIndex(nextLine);
@@ -102,53 +153,58 @@ class YamlReader extends AbstractConfigReader {
         return currentOffset == nextOffset && !isComplexValue(nextLine, currentOffset);
     }
 
-    private int multiLineValue(List<Property> result, String key, Deque<KeyOffset> currentProperty, int index, int offset, String configType, String env) {
+    private int multiLineValue(List<Property> result, String key, Deque<KeyOffset> currentProperty, int index, int offset, ConfigSource source) {
         removePropertiesWithBiggerOffset(currentProperty, offset);
-        List<String> valueLines = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
         int multilineValueOffset = offset + 2;
         int counter = 1;
         while (true) {
             int pointer = index + counter;
-            if (pointer >= lines.size()) break;
-            String line = lines.get(pointer);
-            int currentOffset = line.isEmpty() ? 0 : offsetIndex(line);
+            if (pointer >= text.lineCount()) break;
+            int currentOffset = text.lineLength(pointer) == 0 ? 0 : offsetIndex(pointer);
             if (currentOffset < multilineValueOffset) break;
-            String value = line.substring(multilineValueOffset);
-            if (!value.trim().isEmpty()) valueLines.add(line.substring(multilineValueOffset));
+            if (trimEnd[pointer] > multilineValueOffset) {
+                if (value.length() > 0) {
+                    value.append(LINES_SEPARATOR);
+                }
+                appendFrom(value, pointer, multilineValueOffset);
+            }
             counter++;
         }
-        if (valueLines.isEmpty()) {
+        if (value.length() == 0) {
             throw new IllegalArgumentException("Missing value in multiline key '" + key + "' in '"
-                    + new FileBasedComponent(file, index, true, configType, env) + "'");
+                    + source.location(index, true) + "'");
         }
-        FileBasedComponent source = fileSource(file, index, true, configType, env);
+        DeclaringComponent declaringComponent = source.at(index, true);
         String k = mergeKey(currentProperty, key);
-        String v = join(LINES_SEPARATOR, valueLines);
-        Property p = isOverrideProperty(k) ? overrideProperty(k, v, YAML, source) : property(k, v, YAML, source);
+        String v = value.toString();
+        Property p = isOverrideProperty(k) ? overrideProperty(k, v, YAML, declaringComponent, symbols) : property(symbols.symbol(k), v, YAML, declaringComponent);
         result.add(p);
         return index + counter - 1;
     }
 
-    private boolean isComplexValue(String line, int currentOffset) {
-        char c = line.charAt(currentOffset);
-        return asList('-', '[', ']', '{').contains(c) ||
-                (c == '$' && line.length() > currentOffset + 1 && line.charAt(currentOffset + 1) == '{');
+    private boolean isComplexValue(int line, int currentOffset) {
+        if (currentOffset >= text.lineLength(line)) return false;
+
+        int position = text.lineStart(line) + currentOffset;
+        char c = text.charAt(position);
+        return c == '-' || c == '[' || c == ']' || c == '{' ||
+                (c == '$' && text.lineLength(line) > currentOffset + 1 && text.charAt(position + 1) == '{');
     }
 
     private int addComplexValue(List<Property> result,
                                 Deque<KeyOffset> currentProperty, int currentOffset,
-                                int originalLineNumber, String configType, String env) {
+                                int originalLineNumber, ConfigSource source) {
         StringBuilder value = new StringBuilder();
         int index = originalLineNumber;
         while (true) {
-            String line = lines.get(index);
-            if (!line.isEmpty()) {
-                value.append(line.substring(currentOffset));
+            if (text.lineLength(index) != 0) {
+                appendFrom(value, index, currentOffset);
             }
-            if (index + 1 >= lines.size()) {
+            if (index + 1 >= text.lineCount()) {
                 break;
             }
-            if (complexValueEnd(lines.get(index + 1), currentOffset)) {
+            if (complexValueEnd(index + 1, currentOffset)) {
                 break;
             }
 
@@ -156,12 +212,12 @@ class YamlReader extends AbstractConfigReader {
             ++index;
         }
 
-        addValue(result, currentProperty, currentOffset, originalLineNumber, null, value.toString(), configType, env);
+        addValue(result, currentProperty, currentOffset, originalLineNumber, null, value.toString(), source);
         return index;
     }
 
-    private boolean complexValueEnd(String nextLine, int currentOffset) {
-        if (skip(nextLine) && !isComment(nextLine)) return false;
+    private boolean complexValueEnd(int nextLine, int currentOffset) {
+        if (skip(nextLine) && !startsWithComment(nextLine)) return false;
 
         int nextOffset = offsetIndex(nextLine);
         if (currentOffset > nextOffset) return true;
@@ -170,21 +226,21 @@ class YamlReader extends AbstractConfigReader {
 
     private void parseSimpleProperty(List<Property> result,
                                      Deque<KeyOffset> currentProperty, int currentOffset,
-                                     int index, String configType, String env) {
-        String line = lines.get(index);
-        int separatorIndex = separatorIndex(line, currentOffset);
+                                     int index, ConfigSource source) {
+        int separatorIndex = separatorIndex(index, currentOffset);
         if (separatorIndex < 0) {
-            throw new IllegalArgumentException("Incorrect delimiter in '" + line + "' in '" + new FileBasedComponent(file, index, true, configType, env) +
+            throw new IllegalArgumentException("Incorrect delimiter in '" + text.line(index) + "' in '" + source.location(index, true) +
                     "'\nYaml property must contain ':' as delimiter.");
         }
 
         removePropertiesWithBiggerOffset(currentProperty, currentOffset);
 
-        String key = line.substring(currentOffset, separatorIndex).trim();
+        int start = text.lineStart(index);
+        String key = trimmed(start + currentOffset, start + separatorIndex);
 
-        if (valueEmpty(line, separatorIndex)) {
+        if (valueEmpty(index, separatorIndex)) {
             if (itsLastProperty(index, currentOffset)) {
-                addValue(result, currentProperty, currentOffset, index - 1, key, "", configType, env);
+                addValue(result, currentProperty, currentOffset, index - 1, key, "", source);
                 return;
             }
 
@@ -192,16 +248,23 @@ class YamlReader extends AbstractConfigReader {
             return;
         }
 
-        String value = line.substring(separatorIndex + 1).trim();
-        addValue(result, currentProperty, currentOffset, index, key, value, configType, env);
+        String value = trimmed(start + separatorIndex + 1, text.lineEnd(index));
+        addValue(result, currentProperty, currentOffset, index, key, value, source);
     }
 
-    private int separatorIndex(String line, int offset) {
-        return line.indexOf(':', offset);
+    private int separatorIndex(int line, int offset) {
+        int start = text.lineStart(line);
+        for (int p = start + offset; p < text.lineEnd(line); p++) {
+            if (text.charAt(p) == ':') return p - start;
+        }
+        return -1;
     }
 
-    private boolean valueEmpty(String line, int separatorIndex) {
-        return isBlank(line.substring(separatorIndex + 1));
+    private boolean valueEmpty(int line, int separatorIndex) {
+        for (int p = text.lineStart(line) + separatorIndex + 1; p < text.lineEnd(line); p++) {
+            if (!isWhitespace(text.charAt(p))) return false;
+        }
+        return true;
     }
 
     private void removePropertiesWithBiggerOffset(Deque<KeyOffset> currentProperty, int currentOffset) {
@@ -210,55 +273,71 @@ class YamlReader extends AbstractConfigReader {
         }
     }
 
-    private boolean skip(String line) {
-        String trim = line.trim();
-        return trim.isEmpty() || isComment(trim);
+    private boolean skip(int line) {
+        return trimStart[line] == NONE || text.charAt(text.lineStart(line) + trimStart[line]) == '#';
+    }
+
+    private boolean startsWithComment(int line) {
+        return text.lineLength(line) > 0 && text.charAt(text.lineStart(line)) == '#';
     }
 
-    private int offsetIndex(String line) {
-        return range(0, line.length())
-                .filter(i -> !isWhitespace(line.charAt(i)))
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("assertion error: line is empty"));
+    private int offsetIndex(int line) {
+        if (indent[line] == NONE) {
+            throw new IllegalStateException("assertion error: line is empty");
+        }
+        return indent[line];
     }
 
     private boolean itsLastProperty(int i, int currentOffset) {
-        ++i;
-        while (i < lines.size()) {
-            String line = lines.get(i++);
-            if (skip(line)) continue;
-            int offsetIndex = offsetIndex(line);
-            if (currentOffset > offsetIndex) {
-                return true;
-            }
-            if (currentOffset == offsetIndex) {
-                return !isComplexValue(line, offsetIndex);
-            }
-            return false;
+        int line = nextContentLine[i];
+        if (line == text.lineCount()) return true;
+
+        int offsetIndex = offsetIndex(line);
+        if (currentOffset > offsetIndex) {
+            return true;
+        }
+        if (currentOffset == offsetIndex) {
+            return !isComplexValue(line, offsetIndex);
         }
+        return false;
+    }
 
-        return true;
+    //the same bounds as String.trim() of the range
+    private String trimmed(int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            ++start;
+        }
+        while (start < end && text.charAt(end - 1) <= ' ') {
+            --end;
+        }
+        return text.substring(start, end);
+    }
+
+    //a whitespace-only line shorter than the offset adds nothing
+    private void appendFrom(StringBuilder value, int line, int offset) {
+        if (offset >= text.lineLength(line)) return;
+
+        value.append(text, text.lineStart(line) + offset, text.lineEnd(line));
     }
 
     private void addValue(List<Property> result,
                           Deque<KeyOffset> currentProperty, int currentOffset, int line,
-                          String lastKey, String value, String configType, String env) {
+                          String lastKey, String value, ConfigSource source) {
         if (lastKey != null) {
             currentProperty.add(new KeyOffset(lastKey, currentOffset, line));
         }
         int lineNumber = currentProperty.peekLast().lineNumber;
         String key = toKey(currentProperty);
         currentProperty.pollLast();
-        FileBasedComponent source = fileSource(file, lineNumber, true, configType, env);
-        Property prop = isOverrideProperty(key) ? overrideProperty(key, value, YAML, source) : property(key, value, YAML, source);
+        DeclaringComponent declaringComponent = source.at(lineNumber, true);
+        Property prop = isOverrideProperty(key) ? overrideProperty(key, value, YAML, declaringComponent, symbols) : property(symbols.symbol(key), value, YAML, declaringComponent);
         result.add(prop);
     }
 
     private String mergeKey(Deque<KeyOffset> currentProperty, String key) {
-        return concat(
-                currentProperty.stream().map(k -> k.key),
-                of(key.trim())
-        ).collect(joining("."));
+        StringBuilder merged = new StringBuilder();
+        currentProperty.forEach(k -> merged.append(k.key).append('.'));
+        return merged.append(key.trim()).toString();
     }
 
     private String toKey(Deque<KeyOffset> currentProperty) {
@@ -278,4 +357,4 @@ class YamlReader extends AbstractConfigReader {
             return key;
         }
     }
-}
\ No newline at end of file
+}
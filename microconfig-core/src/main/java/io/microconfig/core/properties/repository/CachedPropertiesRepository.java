@@ -0,0 +1,54 @@
+package io.microconfig.core.properties.repository;
+
+import io.microconfig.core.configtypes.ConfigType;
+import io.microconfig.core.properties.PropertiesRepository;
+import io.microconfig.core.properties.Property;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static io.microconfig.core.properties.DeclaringComponentImpl.anyDeclaredIn;
+
+public class CachedPropertiesRepository implements PropertiesRepository {
+    private final Memo<Key, Map<String, Property>> properties;
+    private final Function<Key, Map<String, Property>> read;
+
+    public CachedPropertiesRepository(PropertiesRepository delegate, Memos memos) {
+        this.properties = memos.newMemo("raw properties", (k, v) -> 64 + 48L * v.size());
+        this.read = k -> delegate.getPropertiesOf(k.originalComponentName, k.environment, k.configType);
+    }
+
+    @Override
+    public Map<String, Property> getPropertiesOf(String originalComponentName, String environment, ConfigType configType) {
+        return properties.get(new Key(originalComponentName, environment, configType), read);
+    }
+
+    /**
+     * @param components   components whose own or included files changed
+     * @param changedFolders component folders with changed files
+     * @return original names of components whose properties were dropped
+     */
+    public Set<String> invalidateComponents(Set<String> components, Set<String> changedFolders) {
+        Set<String> invalidated = ConcurrentHashMap.newKeySet();
+        properties.invalidateIf((k, v) -> {
+            boolean changed = components.contains(k.originalComponentName) || anyDeclaredIn(v.values(), changedFolders);
+            if (changed) {
+                invalidated.add(k.originalComponentName);
+            }
+            return changed;
+        });
+        return invalidated;
+    }
+
+    @Value
+    private static class Key {
+        String originalComponentName;
+        String environment;
+        ConfigType configType;
+    }
+}
@@ -4,84 +4,87 @@ import io.microconfig.core.configtypes.ConfigType;
 import lombok.RequiredArgsConstructor;
 
 import java.io.File;
-import java.nio.file.Files;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static io.microconfig.utils.FileUtils.getExtension;
-import static io.microconfig.utils.FileUtils.walk;
 import static io.microconfig.utils.Logger.warn;
 import static io.microconfig.utils.StringUtils.dotCountIn;
 import static io.microconfig.utils.StringUtils.isEmpty;
+import static java.lang.Integer.MAX_VALUE;
 import static java.lang.Long.MIN_VALUE;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.Files.walkFileTree;
 import static java.util.Collections.emptyList;
 import static java.util.Comparator.comparing;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static lombok.AccessLevel.PRIVATE;
 
+/**
+ * Component folders and their files are indexed by a single walk of the components dir,
+ * so config lookups don't touch the file system. Use {@link #refresh} when files are added or removed.
+ */
 @RequiredArgsConstructor(access = PRIVATE)
 public class ComponentGraphImpl implements ComponentGraph {
     public static final String COMPONENTS_DIR = "components";
 
     private final Map<String, List<File>> foldersByComponentType;
+    //files of all folders of the component, sorted by priority
+    private final Map<String, List<IndexedFile>> filesByComponentType;
 
-    public static ComponentGraph traverseFrom(File rootDir) {
+    /**
+     * Symlinked folders are indexed under the name of the link.
+     */
+    public static ComponentGraphImpl traverseFrom(File rootDir) {
         File componentDir = new File(rootDir, COMPONENTS_DIR);
         if (!componentDir.exists()) {
             throw new IllegalArgumentException("Root directory must contain 'components' dir");
         }
 
-        try (Stream<Path> paths = walk(componentDir.toPath())) {
-            return new ComponentGraphImpl(collectFoldersByComponentType(paths));
+        FolderIndexer indexer = new FolderIndexer();
+        try {
+            walkFileTree(componentDir.toPath(), EnumSet.of(FOLLOW_LINKS), MAX_VALUE, indexer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return indexer.toGraph();
     }
 
-    private static Map<String, List<File>> collectFoldersByComponentType(Stream<Path> pathStream) {
-        return pathStream.parallel()
-                .filter(Files::isDirectory)
-                .map(Path::toFile)
-                .collect(groupingBy(File::getName));
-    }
-
-    @Override //todo includes from diff components shouldn't be parsed multiple times
+    @Override
     public List<ConfigFile> getConfigFilesOf(String component, String environment, ConfigType configType) {
-        List<File> dirs = foldersByComponentType.getOrDefault(component, emptyList());
-        if (dirs.isEmpty()) {
+        List<IndexedFile> files = filesByComponentType.get(component);
+        if (files == null) {
             throw new ComponentNotFoundException(component);
         }
 
-        return dirs.stream()
-                .map(File::listFiles)
-                .filter(Objects::nonNull)
-                .flatMap(Stream::of)
+        return files.stream()
                 .filter(configWith(configType).and(forEnv(environment)))
-                .sorted(configPriority())
-                .map(f -> new ConfigFile(f, configType.getName(), environment))
+                .map(f -> new ConfigFile(f.file, configType.getName(), environment))
                 .collect(toList());
     }
 
-    private Predicate<File> configWith(ConfigType configType) {
-        return f -> configType.getSourceExtensions().contains(getExtension(f));
-    }
-
-    private Predicate<File> forEnv(String environment) {
-        return f -> dotCountIn(f.getName()) == 1 || isEmpty(environment) || f.getName().contains('.' + environment + '.');
+    private Predicate<IndexedFile> configWith(ConfigType configType) {
+        Set<String> extensions = configType.getSourceExtensions();
+        return f -> extensions.contains(f.extension);
     }
 
-    private Comparator<File> configPriority() {
-        return comparing(this::amountOfEnvironments)
-                .thenComparing(File::getName);
-    }
+    private Predicate<IndexedFile> forEnv(String environment) {
+        if (isEmpty(environment)) return f -> true;
 
-    private long amountOfEnvironments(File f) {
-        long envCount = dotCountIn(f.getName()) - 1;
-        if (envCount == 0) return MIN_VALUE;
-        return -1 * envCount;
+        String envToken = '.' + environment + '.';
+        return f -> f.amountOfEnvironments == MIN_VALUE || f.file.getName().contains(envToken);
     }
 
     @Override
@@ -93,4 +96,80 @@ public class ComponentGraphImpl implements ComponentGraph {
         }
         return folders.isEmpty() ? empty() : of(folders.get(0));
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-lists folders of components that contain changed files. New or removed folders require a new traversal.
+     */
+    public void refresh(Collection<File> changedFiles) {
+        changedFiles.stream()
+                .map(File::getParentFile)
+                .filter(Objects::nonNull)
+                .map(File::getName)
+                .distinct()
+                .filter(foldersByComponentType::containsKey)
+                .forEach(component -> filesByComponentType.put(component, listFilesOf(foldersByComponentType.get(component))));
+    }
+
+    private static List<IndexedFile> listFilesOf(List<File> folders) {
+        return sortedByPriority(folders.stream()
+                .map(File::listFiles)
+                .filter(Objects::nonNull)
+                .flatMap(Stream::of)
+                .filter(f -> !f.isDirectory())
+                .map(IndexedFile::new));
+    }
+
+    private static List<IndexedFile> sortedByPriority(Stream<IndexedFile> files) {
+        return files.sorted(comparing((IndexedFile f) -> f.amountOfEnvironments).thenComparing(f -> f.file.getName()))
+                .collect(toList());
+    }
+
+    private static class IndexedFile {
+        private final File file;
+        private final String extension;
+        private final long amountOfEnvironments;
+
+        private IndexedFile(File file) {
+            this.file = file;
+            this.extension = getExtension(file);
+            long envCount = dotCountIn(file.getName()) - 1;
+            this.amountOfEnvironments = envCount == 0 ? MIN_VALUE : -1 * envCount;
+        }
+    }
+
+    private static class FolderIndexer extends SimpleFileVisitor<Path> {
+        private final Map<String, List<File>> foldersByName = new HashMap<>();
+        private final Map<Path, List<IndexedFile>> filesByFolder = new HashMap<>();
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            File folder = dir.toFile();
+            foldersByName.computeIfAbsent(folder.getName(), __ -> new ArrayList<>()).add(folder);
+            filesByFolder.put(dir, new ArrayList<>());
+            return CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            File f = file.toFile();
+            filesByFolder.get(file.getParent()).add(new IndexedFile(f));
+            return CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+            if (!(e instanceof FileSystemLoopException)) throw e;
+
+            warn("Skipping symlink " + file + " that points to its own parent folder");
+            return CONTINUE;
+        }
+
+        private ComponentGraphImpl toGraph() {
+            Map<String, List<IndexedFile>> filesByName = new ConcurrentHashMap<>();
+            foldersByName.forEach((name, folders) -> filesByName.put(name, sortedByPriority(
+                    folders.stream().flatMap(folder -> filesByFolder.get(folder.toPath()).stream())
+            )));
+            return new ComponentGraphImpl(foldersByName, filesByName);
+        }
+    }
+}
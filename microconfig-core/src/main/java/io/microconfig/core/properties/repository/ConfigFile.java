@@ -1,5 +1,6 @@
 package io.microconfig.core.properties.repository;
 
+import io.microconfig.core.properties.ConfigSource;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.io.ConfigIo;
 import io.microconfig.core.properties.io.ConfigReader;
@@ -15,7 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import static io.microconfig.core.properties.ConfigFormat.PROPERTIES;
-import static io.microconfig.core.properties.FileBasedComponent.fileSource;
+import static io.microconfig.core.properties.ConfigSource.configSource;
 import static io.microconfig.core.properties.PropertyImpl.isTempProperty;
 import static io.microconfig.core.properties.PropertyImpl.parse;
 import static io.microconfig.utils.CollectionUtils.join;
@@ -48,10 +49,11 @@ public class ConfigFile {
     }
 
     private List<Property> parseTempProperties(Map<Integer, String> commentByLineNumber) {
+        ConfigSource source = configSource(file, configType, environment);
         return commentByLineNumber.entrySet()
                 .stream()
                 .filter(e -> isTempProperty(e.getValue()))
-                .map(e -> parse(e.getValue(), PROPERTIES, fileSource(file, e.getKey(), false, configType, environment)))
+                .map(e -> parse(e.getValue(), PROPERTIES, source.at(e.getKey(), false)))
                 .collect(toList());
     }
 
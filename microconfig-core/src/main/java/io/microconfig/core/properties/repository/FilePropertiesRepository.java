@@ -2,9 +2,12 @@ package io.microconfig.core.properties.repository;
 
 import io.microconfig.core.configtypes.ConfigType;
 import io.microconfig.core.environments.EnvironmentRepository;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.PropertiesRepository;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.io.ConfigIo;
+import io.microconfig.core.properties.repository.ParsedConfigCache.IncludeClosure;
+import io.microconfig.io.FsReader;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
 
@@ -14,6 +17,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static io.microconfig.core.profiling.Phase.CONFIG_READING;
+import static io.microconfig.core.profiling.Phase.INCLUDES;
+import static java.util.Collections.disjoint;
 import static java.util.Collections.emptyMap;
 
 @RequiredArgsConstructor
@@ -22,6 +28,9 @@ public class FilePropertiesRepository implements PropertiesRepository {
 
     private final EnvironmentRepository environments;
     private final ConfigIo configIo;
+    private final ParsedConfigCache parsedConfigs;
+    private final FsReader fsReader;
+    private final BuildProfiler profiler;
 
     @Override
     public Map<String, Property> getPropertiesOf(String originalComponentName, String environment, ConfigType configType) {
@@ -39,9 +48,23 @@ public class FilePropertiesRepository implements PropertiesRepository {
         private final Set<Include> processedIncludes;
 
         public Map<String, Property> getProperties() {
+            IncludeClosure closure = parsedConfigs.includeClosureOf(component, environment, configType.getName(), this::expandIncludes);
+            if (closure != null && disjoint(closure.getIncludes(), processedIncludes)) {
+                processedIncludes.addAll(closure.getIncludes());
+                return closure.getProperties();
+            }
+            // cyclic include, or some includes were already processed by the including component
             return readAndParse(configFiles());
         }
 
+        //files of the requested type are read in background while the first one is parsed
+        private IncludeClosure expandIncludes() {
+            OriginalComponent standalone = new OriginalComponent(component, environment, configType, new LinkedHashSet<>());
+            List<ConfigFile> configFiles = standalone.configFiles();
+            configFiles.forEach(f -> fsReader.prefetch(f.getFile()));
+            return new IncludeClosure(standalone.readAndParse(configFiles), standalone.processedIncludes);
+        }
+
         private List<ConfigFile> configFiles() {
             return componentGraph.getConfigFilesOf(component, environment, configType);
         }
@@ -57,8 +80,10 @@ public class FilePropertiesRepository implements PropertiesRepository {
 
         private Map<String, Property> parse(ConfigFile configFile) {
             List<String> profiles = environments.getOrCreateByName(environment).getProfiles();
-            return configFile.parseUsing(configIo)
-                    .getBaseAndIncludedProperties(this::includeResolver, profiles, environment);
+            RawConfig rawConfig = profiler.profile(CONFIG_READING, component, environment, configType.getName(), configFile.getFile().getName(),
+                    () -> parsedConfigs.rawConfigOf(configFile, () -> configFile.parseUsing(configIo)));
+            return profiler.profile(INCLUDES, component, environment, configType.getName(), null,
+                    () -> rawConfig.getBaseAndIncludedProperties(this::includeResolver, profiles, environment));
         }
 
         private Map<String, Property> includeResolver(Include include) {
@@ -0,0 +1,103 @@
+package io.microconfig.core.properties.repository;
+
+import io.microconfig.core.properties.Property;
+import io.microconfig.utils.CacheBudget;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import lombok.Value;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Parsed config files and include closures shared by all components of the build,
+ * so a base included by many components is read and expanded once.
+ */
+public class ParsedConfigCache {
+    private final Memos memos;
+    private final Memo<ConfigKey, RawConfig> rawConfigs;
+    private final Memo<ConfigKey, IncludeClosure> includeClosures;
+    private final ThreadLocal<Set<ConfigKey>> expanding = ThreadLocal.withInitial(HashSet::new);
+
+    public ParsedConfigCache() {
+        this(CacheBudget.unlimited());
+    }
+
+    public ParsedConfigCache(CacheBudget budget) {
+        this.memos = new Memos(budget);
+        this.rawConfigs = memos.newMemo("parsed configs", (k, config) -> config.estimatedBytes());
+        this.includeClosures = memos.newMemo("include closures", (k, closure) -> 64 + 48L * closure.getProperties().size());
+    }
+
+    RawConfig rawConfigOf(ConfigFile configFile, Supplier<RawConfig> parser) {
+        ConfigKey key = new ConfigKey(configFile.getFile(), configFile.getEnvironment(), configFile.getConfigType());
+        return rawConfigs.get(key, k -> parser.get());
+    }
+
+    /**
+     * @return null for a component that is being expanded on this thread, i.e. for cyclic includes
+     */
+    IncludeClosure includeClosureOf(String component, String environment, String configType, Supplier<IncludeClosure> expansion) {
+        ConfigKey key = new ConfigKey(component, environment, configType);
+        IncludeClosure cached = includeClosures.getIfLoaded(key);
+        if (cached != null) return cached;
+
+        Set<ConfigKey> inProgress = expanding.get();
+        if (!inProgress.add(key)) return null;
+        try {
+            return includeClosures.get(key, k -> expansion.get());
+        } finally {
+            inProgress.remove(key);
+        }
+    }
+
+    public void invalidate() {
+        memos.invalidate();
+    }
+
+    /**
+     * Drops changed files and include closures that read any file of the changed component folders.
+     *
+     * @return components whose include closures were dropped
+     */
+    public Set<String> invalidate(Collection<File> changedFiles, Set<String> changedFolders) {
+        rawConfigs.invalidateIf((k, config) -> changedFiles.contains(k.source));
+
+        Set<String> invalidated = ConcurrentHashMap.newKeySet();
+        includeClosures.invalidateIf((k, closure) -> {
+            boolean changed = changedFolders.contains(k.source) || closure.getIncludes().stream()
+                    .anyMatch(i -> changedFolders.contains(i.getComponent()));
+            if (changed) {
+                invalidated.add((String) k.source);
+            }
+            return changed;
+        });
+        return invalidated;
+    }
+
+    @Override
+    public String toString() {
+        return memos.toString();
+    }
+
+    @Value
+    private static class ConfigKey {
+        Object source;
+        String environment;
+        String configType;
+    }
+
+    /**
+     * Properties of a component with its includes expanded, and the includes processed on the way.
+     */
+    @Value
+    static class IncludeClosure {
+        Map<String, Property> properties;
+        Set<Include> includes;
+    }
+}
@@ -72,4 +72,13 @@ public class RawConfig {
                     return m1;
                 });
     }
-}
\ No newline at end of file
+
+    //rough retained size: properties with their keys and values dominate it
+    long estimatedBytes() {
+        long bytes = 64 + 64L * includes.size();
+        for (Property p : declaredProperties) {
+            bytes += 96 + 2L * (p.getKey().length() + p.getValue().length());
+        }
+        return bytes;
+    }
+}
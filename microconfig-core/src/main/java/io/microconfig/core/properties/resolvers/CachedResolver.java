@@ -0,0 +1,77 @@
+package io.microconfig.core.properties.resolvers;
+
+import io.microconfig.core.properties.DeclaringComponent;
+import io.microconfig.core.properties.resolvers.expression.functions.FileReads;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import io.microconfig.utils.SymbolTable;
+import lombok.Value;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Files read by expressions of a value are cached with it and reported again when the value is reused,
+ * so builds served from the cache still know their inputs.
+ */
+public class CachedResolver implements CompiledValueResolver {
+    private final Memo<Key, Resolved> values;
+    private final Function<Key, Resolved> resolve;
+    private final SymbolTable symbols;
+    private final FileReads fileReads;
+
+    public CachedResolver(CompiledValueResolver delegate, Memos memos, SymbolTable symbols, FileReads fileReads) {
+        this.values = memos.newMemo("resolved values", (k, v) -> 96 + 2L * (k.value.getValue().length() + v.value.length()) + 64L * v.reads.size());
+        this.resolve = k -> {
+            Set<File> reads = new LinkedHashSet<>();
+            String value = fileReads.capturing(reads, () -> delegate.resolve(k.value, k.sourceOfValue, k.root));
+            return new Resolved(value, reads.isEmpty() ? emptyList() : new ArrayList<>(reads));
+        };
+        this.symbols = symbols;
+        this.fileReads = fileReads;
+    }
+
+    @Override
+    public CompiledValue compileValue(String value) {
+        return CompiledValue.compile(value, symbols);
+    }
+
+    @Override
+    public String resolve(String value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
+        return resolve(compileValue(value), sourceOfValue, root);
+    }
+
+    @Override
+    public String resolve(CompiledValue value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
+        if (value.isLiteral()) return value.getValue();
+
+        Resolved resolved = values.get(new Key(value, sourceOfValue, root), resolve);
+        //a value loaded by this call is reported twice, listeners collect sets of files
+        fileReads.replay(root, resolved.reads);
+        return resolved.value;
+    }
+
+    //resolved values depend on other components through placeholders, so all of them are dropped
+    public void invalidate() {
+        values.invalidate();
+    }
+
+    @Value
+    private static class Resolved {
+        String value;
+        List<File> reads;
+    }
+
+    @Value
+    private static class Key {
+        CompiledValue value;
+        DeclaringComponent sourceOfValue;
+        DeclaringComponent root;
+    }
+}
@@ -1,11 +1,12 @@
 package io.microconfig.core.properties.resolvers;
 
-import io.microconfig.core.properties.Resolver;
+import io.microconfig.core.properties.DeclaringComponent;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 import java.util.Optional;
 
+import static io.microconfig.core.properties.resolvers.CompiledValue.hasStatements;
 import static io.microconfig.utils.StreamUtils.findFirstResult;
 import static java.util.Arrays.asList;
 import static lombok.AccessLevel.PRIVATE;
@@ -14,10 +15,19 @@ import static lombok.AccessLevel.PRIVATE;
 public class ChainedResolver implements RecursiveResolver {
     public final List<RecursiveResolver> resolvers;
 
-    public static Resolver chainOf(RecursiveResolver... resolvers) {
+    public static RecursiveResolver chainOf(RecursiveResolver... resolvers) {
         return new ChainedResolver(asList(resolvers));
     }
 
+    //statements of the first resolver are resolved before statements of the others
+    @Override
+    public String resolve(CompiledValue value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
+        if (value.isLiteral()) return value.getValue();
+
+        String resolved = resolvers.get(0).resolve(value, sourceOfValue, root);
+        return hasStatements(resolved) ? resolve(resolved, sourceOfValue, root) : resolved;
+    }
+
     @Override
     public Optional<Statement> findStatementIn(CharSequence line) {
         return findFirstResult(resolvers, r -> r.findStatementIn(line));
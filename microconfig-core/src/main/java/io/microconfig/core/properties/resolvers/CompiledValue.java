@@ -0,0 +1,66 @@
+package io.microconfig.core.properties.resolvers;
+
+import io.microconfig.core.properties.resolvers.placeholder.CompiledPlaceholder;
+import io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders;
+import io.microconfig.utils.SymbolTable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders.findPlaceholderIn;
+import static io.microconfig.utils.SymbolTable.noSymbols;
+import static java.util.Collections.emptyList;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Property value with its placeholders found once, so resolving the value doesn't search it again.
+ * Expressions are evaluated after placeholders, as they may contain them.
+ */
+@Getter
+@EqualsAndHashCode(of = "value")
+@RequiredArgsConstructor(access = PRIVATE)
+public class CompiledValue {
+    private final String value;
+    private final List<CompiledPlaceholder> placeholders;
+    /**
+     * true if the value has no statements and resolves to itself
+     */
+    private final boolean literal;
+
+    public static CompiledValue compile(String value) {
+        return compile(value, noSymbols());
+    }
+
+    /**
+     * @param symbols dedups names of the placeholders
+     */
+    public static CompiledValue compile(String value, SymbolTable symbols) {
+        if (value.indexOf("${") < 0) {
+            return new CompiledValue(value, emptyList(), value.indexOf("#{") < 0);
+        }
+
+        StringBuilder line = new StringBuilder(value);
+        List<CompiledPlaceholder> placeholders = new ArrayList<>();
+        Optional<PlaceholderBorders> borders;
+        int from = 0;
+        while ((borders = findPlaceholderIn(line, from)).isPresent()) {
+            placeholders.add(borders.get().compile(symbols));
+            from = borders.get().getEndIndex();
+        }
+        return new CompiledValue(value, placeholders, placeholders.isEmpty() && value.indexOf("#{") < 0);
+    }
+
+    //placeholders start with ${, expressions with #{
+    public static boolean hasStatements(String value) {
+        return value.contains("${") || value.contains("#{");
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
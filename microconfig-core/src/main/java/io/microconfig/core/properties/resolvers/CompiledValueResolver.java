@@ -0,0 +1,16 @@
+package io.microconfig.core.properties.resolvers;
+
+import io.microconfig.core.properties.DeclaringComponent;
+import io.microconfig.core.properties.Resolver;
+
+/**
+ * Resolver that takes values compiled once by {@link CompiledValue#compile}.
+ * A literal value is resolved to itself.
+ */
+public interface CompiledValueResolver extends Resolver {
+    default CompiledValue compileValue(String value) {
+        return CompiledValue.compile(value);
+    }
+
+    String resolve(CompiledValue value, DeclaringComponent sourceOfValue, DeclaringComponent root);
+}
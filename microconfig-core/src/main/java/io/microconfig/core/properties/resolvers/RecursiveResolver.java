@@ -1,11 +1,15 @@
 package io.microconfig.core.properties.resolvers;
 
 import io.microconfig.core.properties.DeclaringComponent;
-import io.microconfig.core.properties.Resolver;
 
 import java.util.Optional;
 
-public interface RecursiveResolver extends Resolver {
+public interface RecursiveResolver extends CompiledValueResolver {
+    @Override
+    default String resolve(CompiledValue value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
+        return value.isLiteral() ? value.getValue() : resolve(value.getValue(), sourceOfValue, root);
+    }
+
     @Override
     default String resolve(String value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
         StringBuilder result = new StringBuilder(value);
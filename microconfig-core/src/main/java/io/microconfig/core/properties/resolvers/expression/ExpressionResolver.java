@@ -1,10 +1,12 @@
 package io.microconfig.core.properties.resolvers.expression;
 
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.DeclaringComponent;
 import io.microconfig.core.properties.ResolveException;
 import io.microconfig.core.properties.resolvers.RecursiveResolver;
 import io.microconfig.core.properties.resolvers.expression.functions.CustomIoApi;
 import io.microconfig.core.properties.resolvers.expression.functions.CustomStringApi;
+import io.microconfig.core.properties.resolvers.expression.functions.FileReads;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -12,6 +14,7 @@ import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static io.microconfig.core.profiling.Phase.EXPRESSIONS;
 import static io.microconfig.core.properties.resolvers.expression.ExpressionEvaluator.withFunctionsFrom;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -21,6 +24,12 @@ import static java.util.regex.Pattern.compile;
 public class ExpressionResolver implements RecursiveResolver {
     private final Pattern expressionPattern = compile("#\\{(?<value>[^{]+?)}");
     private final ExpressionEvaluator evaluator = withFunctionsFrom(CustomStringApi.class, CustomIoApi.class, System.class);
+    private final BuildProfiler profiler;
+    private final FileReads fileReads;
+
+    public ExpressionResolver() {
+        this(new BuildProfiler(), new FileReads());
+    }
 
     @Override
     public Optional<Statement> findStatementIn(CharSequence line) {
@@ -43,7 +52,7 @@ public class ExpressionResolver implements RecursiveResolver {
         @Override
         public String resolveFor(DeclaringComponent component, DeclaringComponent root) {
             try {
-                return evaluator.evaluate(value);
+                return profiler.profile(EXPRESSIONS, root, value, () -> fileReads.readingFor(root, () -> evaluator.evaluate(value)));
             } catch (RuntimeException e) {
                 throw new ResolveException(component, root, "Can't evaluate " + this, e);
             }
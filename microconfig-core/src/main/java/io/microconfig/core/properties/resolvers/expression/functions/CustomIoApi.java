@@ -7,20 +7,20 @@ import static io.microconfig.utils.IoUtils.readFully;
 
 public class CustomIoApi {
     public static byte[] readBytes(String path) {
-        return readAllBytes(new File(path));
+        return readAllBytes(FileReads.read(new File(path)));
     }
 
     public static byte[] readBytesOrEmpty(String path) {
-        File file = new File(path);
+        File file = FileReads.read(new File(path));
         return file.exists() ? readAllBytes(file) : new byte[0];
     }
 
     public static String readString(String path) {
-        return readFully(new File(path));
+        return readFully(FileReads.read(new File(path)));
     }
 
     public static String readStringOrEmpty(String path) {
-        File file = new File(path);
+        File file = FileReads.read(new File(path));
         return file.exists() ? readFully(file) : "";
     }
 }
\ No newline at end of file
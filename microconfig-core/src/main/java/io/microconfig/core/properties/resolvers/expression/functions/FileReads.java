@@ -0,0 +1,88 @@
+package io.microconfig.core.properties.resolvers.expression.functions;
+
+import io.microconfig.core.properties.DeclaringComponent;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Reports files read by {@link CustomIoApi} functions of one Microconfig instance,
+ * along with the component whose config is being resolved.
+ * Resolved values are cached, so caches capture the reads of a value and replay them when the value is reused.
+ */
+public class FileReads {
+    //expression being evaluated on this thread, CustomIoApi functions are static
+    private static final ThreadLocal<Reading> current = new ThreadLocal<>();
+
+    private final List<BiConsumer<DeclaringComponent, File>> listeners = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Set<File>> captured = new ThreadLocal<>();
+
+    public void addListener(BiConsumer<DeclaringComponent, File> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(BiConsumer<DeclaringComponent, File> listener) {
+        listeners.remove(listener);
+    }
+
+    public <T> T readingFor(DeclaringComponent root, Supplier<T> action) {
+        Reading previous = current.get();
+        current.set(new Reading(this, root));
+        try {
+            return action.get();
+        } finally {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * @param reads receives files read by the action, replayed reads included
+     */
+    public <T> T capturing(Set<File> reads, Supplier<T> action) {
+        Set<File> outer = captured.get();
+        captured.set(reads);
+        try {
+            return action.get();
+        } finally {
+            captured.set(outer);
+            if (outer != null) {
+                outer.addAll(reads);
+            }
+        }
+    }
+
+    /**
+     * Reports files read when a reused value was resolved for the same root component.
+     */
+    public void replay(DeclaringComponent root, Collection<File> reads) {
+        reads.forEach(f -> report(root, f));
+    }
+
+    static File read(File file) {
+        Reading reading = current.get();
+        if (reading != null) {
+            reading.fileReads.report(reading.root, file);
+        }
+        return file;
+    }
+
+    private void report(DeclaringComponent root, File file) {
+        listeners.forEach(l -> l.accept(root, file));
+        Set<File> reads = captured.get();
+        if (reads != null) {
+            reads.add(file);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Reading {
+        private final FileReads fileReads;
+        private final DeclaringComponent root;
+    }
+}
@@ -0,0 +1,40 @@
+package io.microconfig.core.properties.resolvers.placeholder;
+
+import io.microconfig.core.properties.PlaceholderResolveStrategy;
+import io.microconfig.core.properties.Property;
+import io.microconfig.utils.Memo;
+import io.microconfig.utils.Memos;
+import lombok.Value;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+public class CachedPlaceholderResolveStrategy implements PlaceholderResolveStrategy {
+    private final Memo<Key, Optional<Property>> properties;
+    private final Function<Key, Optional<Property>> resolve;
+
+    public CachedPlaceholderResolveStrategy(PlaceholderResolveStrategy delegate, Memos memos) {
+        this.properties = memos.newMemo("placeholders", (k, v) -> 96 + v.map(p -> 48 + 2L * p.getValue().length()).orElse(0L));
+        this.resolve = k -> delegate.resolve(k.component, k.key, k.environment, k.configType, k.root);
+    }
+
+    @Override
+    public Optional<Property> resolve(String component, String key, String environment, String configType, String root) {
+        return properties.get(new Key(component, key, environment, configType, root), resolve);
+    }
+
+    public void invalidateComponents(Set<String> components, Set<String> changedFolders) {
+        properties.invalidateIf((k, v) -> components.contains(k.component)
+                || v.filter(p -> changedFolders.contains(p.getDeclaringComponent().getComponent())).isPresent());
+    }
+
+    @Value
+    private static class Key {
+        String component;
+        String key;
+        String environment;
+        String configType;
+        String root;
+    }
+}
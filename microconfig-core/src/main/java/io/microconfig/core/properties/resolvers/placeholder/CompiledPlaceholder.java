@@ -0,0 +1,38 @@
+package io.microconfig.core.properties.resolvers.placeholder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import static lombok.AccessLevel.PACKAGE;
+
+/**
+ * Placeholder split into its parts once. Config type and environment are null
+ * if the placeholder doesn't set them, they are taken from the declaring component then.
+ */
+@Getter
+@RequiredArgsConstructor(access = PACKAGE)
+public class CompiledPlaceholder {
+    private final int startIndex;
+    private final int endIndex;
+    private final String configType;
+    private final String component;
+    private final String environment;
+    private final String key;
+    private final String defaultValue;
+    private final String text;
+
+    public Placeholder toPlaceholder(String contextConfigType, String contextEnv) {
+        return new Placeholder(
+                configType == null ? contextConfigType : configType,
+                component,
+                environment == null ? contextEnv : environment,
+                key,
+                defaultValue
+        );
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
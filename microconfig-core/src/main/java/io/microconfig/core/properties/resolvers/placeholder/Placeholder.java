@@ -1,7 +1,7 @@
 package io.microconfig.core.properties.resolvers.placeholder;
 
 import io.microconfig.core.properties.DeclaringComponent;
-import io.microconfig.core.properties.DeclaringComponentImpl;
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.PlaceholderResolveStrategy;
 import io.microconfig.core.properties.Property;
 import lombok.EqualsAndHashCode;
@@ -30,8 +30,8 @@ public class Placeholder {
                 .orElseThrow(() -> new IllegalStateException("Can't resolve " + this));
     }
 
-    public DeclaringComponent getReferencedComponent() {
-        return new DeclaringComponentImpl(configType, component, environment);
+    public DeclaringComponent getReferencedComponent(ConfigSources sources) {
+        return sources.declaringComponent(configType, component, environment);
     }
 
     public boolean isSelfReferenced() {
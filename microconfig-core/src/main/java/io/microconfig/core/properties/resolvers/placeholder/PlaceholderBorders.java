@@ -1,5 +1,6 @@
 package io.microconfig.core.properties.resolvers.placeholder;
 
+import io.microconfig.utils.SymbolTable;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
@@ -7,6 +8,7 @@ import lombok.With;
 import java.util.Optional;
 
 import static io.microconfig.utils.StringUtils.asStringBuilder;
+import static io.microconfig.utils.SymbolTable.noSymbols;
 import static java.lang.Character.isLetterOrDigit;
 import static java.lang.Integer.max;
 import static java.util.Optional.empty;
@@ -134,16 +136,16 @@ public class PlaceholderBorders {
         return !isLetterOrDigit(c) && c != '.' && c != '_' && c != '-';
     }
 
-    private String getConfigType(String contextConfigType) {
-        return configTypeEndIndex < 0 ? contextConfigType : line.substring(startIndex + 2, configTypeEndIndex + 1);
+    private String getConfigType() {
+        return configTypeEndIndex < 0 ? null : line.substring(startIndex + 2, configTypeEndIndex + 1);
     }
 
     private String getComponent() {
         return line.substring(max(startIndex + 2, configTypeEndIndex + 3), envIndex < 0 ? keyIndex - 1 : envIndex - 1);
     }
 
-    private String getEnvironment(String contextEnv) {
-        return envIndex < 0 ? contextEnv : line.subSequence(envIndex, keyIndex - 2).toString();
+    private String getEnvironment() {
+        return envIndex < 0 ? null : line.substring(envIndex, keyIndex - 2);
     }
 
     private String getKey() {
@@ -155,12 +157,23 @@ public class PlaceholderBorders {
     }
 
     public Placeholder toPlaceholder(String contextConfigType, String contextEnv) {
-        return new Placeholder(
-                getConfigType(contextConfigType),
-                getComponent(),
-                getEnvironment(contextEnv),
-                getKey(),
-                getDefaultValue()
+        return compile().toPlaceholder(contextConfigType, contextEnv);
+    }
+
+    public CompiledPlaceholder compile() {
+        return compile(noSymbols());
+    }
+
+    public CompiledPlaceholder compile(SymbolTable symbols) {
+        return new CompiledPlaceholder(
+                startIndex,
+                endIndex,
+                symbols.symbol(getConfigType()),
+                symbols.symbol(getComponent()),
+                symbols.symbol(getEnvironment()),
+                symbols.symbol(getKey()),
+                getDefaultValue(),
+                toString()
         );
     }
 
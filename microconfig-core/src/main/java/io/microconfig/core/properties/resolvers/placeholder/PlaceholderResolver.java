@@ -1,17 +1,22 @@
 package io.microconfig.core.properties.resolvers.placeholder;
 
 import io.microconfig.core.environments.EnvironmentRepository;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.*;
+import io.microconfig.core.properties.resolvers.CompiledValue;
 import io.microconfig.core.properties.resolvers.RecursiveResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
+import static io.microconfig.core.profiling.Phase.PLACEHOLDERS;
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
 import static io.microconfig.core.properties.resolvers.placeholder.PlaceholderBorders.findPlaceholderIn;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
@@ -25,41 +30,83 @@ public class PlaceholderResolver implements RecursiveResolver {
     private final EnvironmentRepository environmentRepository;
     private final PlaceholderResolveStrategy strategy;
     private final Set<String> nonOverridableKeys;
+    private final BuildProfiler profiler;
+    private final ConfigSources sources;
     @With(PRIVATE)
     private final Set<Placeholder> visited;
 
     public PlaceholderResolver(EnvironmentRepository environmentRepository,
                                PlaceholderResolveStrategy strategy,
                                Set<String> nonOverridableKeys) {
-        this(environmentRepository, strategy, nonOverridableKeys, emptySet());
+        this(environmentRepository, strategy, nonOverridableKeys, new BuildProfiler());
+    }
+
+    public PlaceholderResolver(EnvironmentRepository environmentRepository,
+                               PlaceholderResolveStrategy strategy,
+                               Set<String> nonOverridableKeys,
+                               BuildProfiler profiler) {
+        this(environmentRepository, strategy, nonOverridableKeys, profiler, defaultSources());
+    }
+
+    public PlaceholderResolver(EnvironmentRepository environmentRepository,
+                               PlaceholderResolveStrategy strategy,
+                               Set<String> nonOverridableKeys,
+                               BuildProfiler profiler,
+                               ConfigSources sources) {
+        this(environmentRepository, strategy, nonOverridableKeys, profiler, sources, emptySet());
+    }
+
+    @Override
+    public String resolve(CompiledValue value, DeclaringComponent sourceOfValue, DeclaringComponent root) {
+        List<CompiledPlaceholder> placeholders = value.getPlaceholders();
+        if (placeholders.isEmpty()) return value.getValue();
+
+        String line = value.getValue();
+        StringBuilder result = new StringBuilder(line.length() + 16);
+        int from = 0;
+        for (CompiledPlaceholder placeholder : placeholders) {
+            result.append(line, from, placeholder.getStartIndex())
+                    .append(new PlaceholderStatement(placeholder).resolveFor(sourceOfValue, root));
+            from = placeholder.getEndIndex();
+        }
+        String resolved = result.append(line, from, line.length()).toString();
+        //default values and nested placeholders are resolved into new placeholders
+        return resolved.contains("${") ? resolve(resolved, sourceOfValue, root) : resolved;
     }
 
     @Override
     public Optional<Statement> findStatementIn(CharSequence line) {
-        return findPlaceholderIn(line).map(PlaceholderStatement::new);
+        return findPlaceholderIn(line).map(b -> new PlaceholderStatement(b.compile()));
     }
 
     @RequiredArgsConstructor
     private class PlaceholderStatement implements Statement {
-        private final PlaceholderBorders borders;
+        private final CompiledPlaceholder compiled;
 
         @Override
         public int getStartIndex() {
-            return borders.getStartIndex();
+            return compiled.getStartIndex();
         }
 
         @Override
         public int getEndIndex() {
-            return borders.getEndIndex();
+            return compiled.getEndIndex();
         }
 
         @Override
         public String resolveFor(DeclaringComponent sourceOfValue, DeclaringComponent root) {
-            Placeholder p = borders.toPlaceholder(sourceOfValue.getConfigType(), sourceOfValue.getEnvironment());
+            Placeholder p = compiled.toPlaceholder(sourceOfValue.getConfigType(), sourceOfValue.getEnvironment());
             if (hasProfileOfRootEnv(p, root)) {
                 p = p.withEnvironment(root.getEnvironment());
             }
 
+            Placeholder placeholder = p;
+            String component = p.isSelfReferenced() ? root.getComponent() : p.getComponent();
+            return profiler.profile(PLACEHOLDERS, component, p.getEnvironment(), p.getConfigType(), p.getKey(),
+                    () -> resolveOrDefault(placeholder, sourceOfValue, root));
+        }
+
+        private String resolveOrDefault(Placeholder p, DeclaringComponent sourceOfValue, DeclaringComponent root) {
             try {
                 return canBeOverridden(p, sourceOfValue) ?
                         overrideByParents(p, sourceOfValue, root) :
@@ -87,7 +134,7 @@ public class PlaceholderResolver implements RecursiveResolver {
 
             return of(
                     of(root),
-                    visited.stream().map(Placeholder::getReferencedComponent),
+                    visited.stream().map(v -> v.getReferencedComponent(sources)),
                     of(sourceOfValue)
             ).flatMap(identity())
                     .map(DeclaringComponentImpl::copyOf).distinct()//for correct distinct
@@ -125,7 +172,7 @@ public class PlaceholderResolver implements RecursiveResolver {
 
         @Override
         public String toString() {
-            return borders.toString();
+            return compiled.toString();
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,6 @@
 package io.microconfig.core.properties.resolvers.placeholder.strategies.component;
 
-import io.microconfig.core.properties.DeclaringComponentImpl;
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.PlaceholderResolveStrategy;
 import io.microconfig.core.properties.Property;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +15,7 @@ import static java.util.Optional.ofNullable;
 @RequiredArgsConstructor
 public class ComponentResolveStrategy implements PlaceholderResolveStrategy {
     private final Map<String, ComponentProperty> propertyByKey;
+    private final ConfigSources sources;
 
     @Override
     public Optional<Property> resolve(String component, String key, String environment, String configType, String _1) {
@@ -22,6 +23,6 @@ public class ComponentResolveStrategy implements PlaceholderResolveStrategy {
 
         return ofNullable(componentProperty)
                 .flatMap(p -> p.resolveFor(component, environment))
-                .map(value -> property(component, value, PROPERTIES, new DeclaringComponentImpl(configType, component, environment)));
+                .map(value -> property(component, value, PROPERTIES, sources.declaringComponent(configType, component, environment)));
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 import java.util.Map;
+import java.util.function.Function;
 
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
@@ -17,13 +18,13 @@ public class ComponentProperties {
     private final ComponentGraph componentGraph;
     private final EnvironmentRepository environmentRepository;
     private final File rootDir;
-    private final File destinationComponentDir;
+    private final Function<String, File> destinationDirByEnv;
 
     public Map<String, ComponentProperty> get() {
         return of(
                 new NameProperty(),
                 new ConfigDirProperty(componentGraph, environmentRepository),
-                new ResultDirProperty(destinationComponentDir),
+                new ResultDirProperty(destinationDirByEnv),
                 new ConfigRootDirProperty(rootDir)
         ).collect(toMap(ComponentProperty::key, identity()));
     }
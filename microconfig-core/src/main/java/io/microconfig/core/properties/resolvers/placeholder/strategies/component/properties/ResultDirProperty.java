@@ -5,13 +5,14 @@ import lombok.RequiredArgsConstructor;
 
 import java.io.File;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static io.microconfig.utils.StringUtils.unixLikePath;
 import static java.util.Optional.of;
 
 @RequiredArgsConstructor
 public class ResultDirProperty implements ComponentProperty {
-    private final File destinationComponentDir;
+    private final Function<String, File> destinationDirByEnv;
 
     @Override
     public String key() {
@@ -19,8 +20,8 @@ public class ResultDirProperty implements ComponentProperty {
     }
 
     @Override
-    public Optional<String> resolveFor(String component, String __) {
-        File dir = new File(destinationComponentDir, component);
+    public Optional<String> resolveFor(String component, String environment) {
+        File dir = new File(destinationDirByEnv.apply(environment), component);
         return of(unixLikePath(dir.getAbsolutePath()));
     }
 }
\ No newline at end of file
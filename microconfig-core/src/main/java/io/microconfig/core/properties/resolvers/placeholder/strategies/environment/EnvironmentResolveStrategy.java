@@ -3,7 +3,7 @@ package io.microconfig.core.properties.resolvers.placeholder.strategies.environm
 import io.microconfig.core.environments.Environment;
 import io.microconfig.core.environments.EnvironmentRepository;
 import io.microconfig.core.environments.repository.EnvironmentException;
-import io.microconfig.core.properties.DeclaringComponentImpl;
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.PlaceholderResolveStrategy;
 import io.microconfig.core.properties.Property;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +19,7 @@ import static java.util.Optional.empty;
 public class EnvironmentResolveStrategy implements PlaceholderResolveStrategy {
     private final EnvironmentRepository environmentRepository;
     private final Map<String, EnvProperty> propertyByKey;
+    private final ConfigSources sources;
 
     @Override
     public Optional<Property> resolve(String component, String key, String env, String configType, String _1) {
@@ -29,7 +30,7 @@ public class EnvironmentResolveStrategy implements PlaceholderResolveStrategy {
         if (environment == null) return empty();
 
         return envProperty.resolveFor(component, environment)
-                .map(value -> property(key, value, PROPERTIES, new DeclaringComponentImpl(configType, component, env)));
+                .map(value -> property(key, value, PROPERTIES, sources.declaringComponent(configType, component, env)));
     }
 
     private Environment getEnvironment(String environment) {
@@ -1,6 +1,6 @@
 package io.microconfig.core.properties.resolvers.placeholder.strategies.system;
 
-import io.microconfig.core.properties.DeclaringComponentImpl;
+import io.microconfig.core.properties.ConfigSources;
 import io.microconfig.core.properties.PlaceholderResolveStrategy;
 import io.microconfig.core.properties.Property;
 import io.microconfig.utils.Os;
@@ -23,13 +23,14 @@ public class SystemResolveStrategy implements PlaceholderResolveStrategy {
 
     private final String type;
     private final UnaryOperator<String> resolver;
+    private final ConfigSources sources;
 
-    public static PlaceholderResolveStrategy systemPropertiesResolveStrategy() {
-        return new SystemResolveStrategy(SYSTEM_SOURCE, System::getProperty);
+    public static PlaceholderResolveStrategy systemPropertiesResolveStrategy(ConfigSources sources) {
+        return new SystemResolveStrategy(SYSTEM_SOURCE, System::getProperty, sources);
     }
 
-    public static PlaceholderResolveStrategy envVariablesResolveStrategy() {
-        return new SystemResolveStrategy(ENV_OS_SOURCE, System::getenv);
+    public static PlaceholderResolveStrategy envVariablesResolveStrategy(ConfigSources sources) {
+        return new SystemResolveStrategy(ENV_OS_SOURCE, System::getenv, sources);
     }
 
     @Override
@@ -38,7 +39,7 @@ public class SystemResolveStrategy implements PlaceholderResolveStrategy {
 
         return ofNullable(resolver.apply(key))
                 .map(v -> escapeOnWindows(v, key))
-                .map(v -> property(key, v, PROPERTIES, new DeclaringComponentImpl(configType, component, environment)));
+                .map(v -> property(key, v, PROPERTIES, sources.declaringComponent(configType, component, environment)));
     }
 
     private String escapeOnWindows(String value, String key) {
@@ -30,7 +30,7 @@ public class ConfigDiff {
         }
     }
 
-    private File diffFileFor(File current) {
+    public static File diffFileFor(File current) {
         return new File(current.getParent(), DIFF_PREFIX + current.getName());
     }
 
@@ -2,6 +2,7 @@ package io.microconfig.core.properties.serializers;
 
 import io.microconfig.core.configtypes.ConfigTypeImpl;
 import io.microconfig.core.environments.EnvironmentRepository;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.ConfigFormat;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.PropertySerializer;
@@ -14,6 +15,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import static io.microconfig.core.configtypes.StandardConfigType.APPLICATION;
+import static io.microconfig.core.profiling.Phase.WRITING;
 import static io.microconfig.core.properties.ConfigFormat.PROPERTIES;
 import static io.microconfig.core.properties.ConfigFormat.YAML;
 import static io.microconfig.core.properties.io.selector.ConfigIoFactory.configIo;
@@ -37,7 +39,17 @@ public class PropertySerializers {
     }
 
     public static PropertySerializer<File> toFileIn(File dir, BiConsumer<File, Collection<Property>> listener) {
-        return (properties, templates, configType, componentName, __) -> {
+        return toFileIn(__ -> dir, listener);
+    }
+
+    public static PropertySerializer<File> toFileIn(Function<String, File> dirByEnv, BiConsumer<File, Collection<Property>> listener) {
+        return toFileIn(dirByEnv, listener, new BuildProfiler());
+    }
+
+    public static PropertySerializer<File> toFileIn(Function<String, File> dirByEnv, BiConsumer<File, Collection<Property>> listener,
+                                                    BuildProfiler profiler) {
+        return (properties, templates, configType, componentName, environment) -> profiler.profile(WRITING, componentName, environment, configType.getName(), null, () -> {
+            File dir = dirByEnv.apply(environment);
             Function<ConfigFormat, File> getResultFile = cf -> new File(dir, componentName + "/" + configType.getResultFileName() + cf.extension());
 
             File resultFile = getResultFile.apply(extensionByConfigFormat(properties));
@@ -53,7 +65,7 @@ public class PropertySerializers {
                 info("Generated " + componentName + "/" + resultFile.getName());
             }
             return resultFile;
-        };
+        });
     }
 
     private static void copyTemplate(Template template, String componentName) {
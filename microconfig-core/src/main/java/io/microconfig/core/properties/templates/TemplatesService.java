@@ -1,5 +1,6 @@
 package io.microconfig.core.properties.templates;
 
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.Resolver;
 import io.microconfig.core.properties.TypedProperties;
@@ -13,6 +14,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.function.UnaryOperator;
 
+import static io.microconfig.core.profiling.Phase.TEMPLATES;
 import static io.microconfig.core.properties.templates.TemplatePattern.defaultPattern;
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
@@ -31,10 +33,14 @@ public class TemplatesService {
     }
 
     public static UnaryOperator<TypedProperties> resolveTemplatesBy(Resolver resolver) {
+        return resolveTemplatesBy(resolver, new BuildProfiler());
+    }
+
+    public static UnaryOperator<TypedProperties> resolveTemplatesBy(Resolver resolver, BuildProfiler profiler) {
         TemplatesService templatesService = new TemplatesService();
-        return tp -> tp
+        return tp -> profiler.profile(TEMPLATES, tp.getDeclaringComponent(), null, () -> tp
                 .withTemplates(templatesService.resolveTemplates(tp, resolver))
-                .without(p -> templatesService.templatePattern.startsWithTemplatePrefix(p.getKey()));
+                .without(p -> templatesService.templatePattern.startsWithTemplatePrefix(p.getKey())));
     }
 
     public List<Template> resolveTemplates(TypedProperties properties, Resolver resolver) {
@@ -0,0 +1,92 @@
+package io.microconfig.core.sharding;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtils.readLines;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
+import static lombok.AccessLevel.PRIVATE;
+
+/**
+ * Build time of each component in millis from previous builds, stored as {@code env/component=millis} lines.
+ * Files written by different shards can be concatenated. Lines without an env, written by older versions,
+ * are used for components that have no cost in the env yet.
+ * <p>
+ * Components are measured while others are built in parallel with the same caches, so a component
+ * that first reads a shared include or placeholder pays for it. A new measurement is averaged
+ * with the stored one to smooth out the scheduling.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public class ComponentCosts {
+    private final File file;
+    private final Map<String, Long> millisByComponent;
+    private final long defaultCost;
+
+    public static ComponentCosts loadFrom(File file) {
+        Map<String, Long> millis = new ConcurrentHashMap<>();
+        if (file.exists()) {
+            for (String line : readLines(file)) {
+                int separator = line.lastIndexOf('=');
+                if (separator <= 0 || line.startsWith("#")) continue;
+
+                try {
+                    millis.put(line.substring(0, separator).trim(), parseLong(line.substring(separator + 1).trim()));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return new ComponentCosts(file, millis, medianOf(millis));
+    }
+
+    private static long medianOf(Map<String, Long> millis) {
+        if (millis.isEmpty()) return 1;
+
+        return millis.values().stream()
+                .sorted()
+                .skip(millis.size() / 2)
+                .findFirst()
+                .orElse(1L);
+    }
+
+    /**
+     * Components built for the first time are assumed to cost as much as the median one.
+     */
+    public long costOf(String env, String component) {
+        Long millis = millisByComponent.get(keyOf(env, component));
+        return millis != null ? millis : millisByComponent.getOrDefault(component, defaultCost);
+    }
+
+    public void record(String env, String component, long millis) {
+        millisByComponent.merge(keyOf(env, component), max(1, millis), (previous, measured) -> (previous + measured + 1) / 2);
+    }
+
+    /**
+     * Runs the build of the component and records how long it took.
+     */
+    public <T> T measure(String env, String component, Supplier<T> build) {
+        long startTime = nanoTime();
+        T result = build.get();
+        record(env, component, NANOSECONDS.toMillis(nanoTime() - startTime));
+        return result;
+    }
+
+    private String keyOf(String env, String component) {
+        return env + "/" + component;
+    }
+
+    public synchronized void save() {
+        write(file, new TreeMap<>(millisByComponent).entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(joining("\n", "", "\n")));
+    }
+}
@@ -0,0 +1,70 @@
+package io.microconfig.core.sharding;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static io.microconfig.utils.StreamUtils.filter;
+import static java.lang.Integer.parseInt;
+import static java.util.Comparator.comparingLong;
+
+/**
+ * One of {@code count} slices of a build, {@code index} is 1-based.
+ * All shards compute the same split as long as they see the same items and costs.
+ */
+@Value
+public class Shard {
+    int index;
+    int count;
+
+    public static Shard parseShard(String value) {
+        String[] parts = value.split("/");
+        try {
+            if (parts.length == 2) {
+                Shard shard = new Shard(parseInt(parts[0].trim()), parseInt(parts[1].trim()));
+                if (shard.count > 0 && shard.index > 0 && shard.index <= shard.count) return shard;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Shard must be in 'index/count' format with 1 <= index <= count, got '" + value + "'");
+    }
+
+    /**
+     * Greedily assigns the most expensive items first to the least loaded shard.
+     */
+    public <T> List<T> select(List<T> items, Function<T, String> nameOf, ToLongFunction<T> costOf) {
+        List<T> byCost = new ArrayList<>(items);
+        byCost.sort(comparingLong((T item) -> -costOf.applyAsLong(item)).thenComparing(nameOf));
+
+        long[] loads = new long[count];
+        Set<String> selected = new HashSet<>();
+        for (T item : byCost) {
+            int shard = leastLoaded(loads);
+            loads[shard] += costOf.applyAsLong(item);
+            if (shard == index - 1) {
+                selected.add(nameOf.apply(item));
+            }
+        }
+        return filter(items, item -> selected.contains(nameOf.apply(item)));
+    }
+
+    private int leastLoaded(long[] loads) {
+        int result = 0;
+        for (int i = 1; i < loads.length; i++) {
+            if (loads[i] < loads[result]) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,57 @@
+package io.microconfig.core.sharding;
+
+import io.microconfig.core.MicroconfigRunner;
+import io.microconfig.core.configtypes.ConfigTypeFilter;
+import io.microconfig.core.environments.Component;
+import io.microconfig.core.environments.ComponentsImpl;
+import io.microconfig.core.properties.PropertiesFactory;
+import io.microconfig.core.properties.PropertySerializer;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+import static io.microconfig.utils.Logger.info;
+import static io.microconfig.utils.StreamUtils.forEach;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Builds the slice of an environment that belongs to one shard. Components of other shards are
+ * only read when placeholders refer to them. Build time of each component is stored to {@link ComponentCosts},
+ * so that next builds are split by cost rather than by component count.
+ */
+@RequiredArgsConstructor
+public class ShardedBuild {
+    private final MicroconfigRunner runner;
+    private final Shard shard;
+    private final ComponentCosts costs;
+
+    public List<String> componentsOf(String env, List<String> groups, List<String> services) {
+        return forEach(selectComponents(env, groups, services), Component::getName);
+    }
+
+    public void build(String env, List<String> groups, List<String> services, ConfigTypeFilter configTypes) {
+        build(env, groups, services, configTypes, runner.toFiles());
+    }
+
+    /**
+     * @return results of the serializer in the order of components
+     */
+    public <T> List<T> build(String env, List<String> groups, List<String> services, ConfigTypeFilter configTypes,
+                             PropertySerializer<T> serializer) {
+        PropertiesFactory propertiesFactory = runner.getMicroconfig().dependencies().propertiesFactory();
+        List<List<T>> results = forEach(selectComponents(env, groups, services).parallelStream(), c -> costs.measure(env, c.getName(),
+                () -> runner.buildProperties(new ComponentsImpl(singletonList(c), propertiesFactory), configTypes).save(serializer)));
+        costs.save();
+        return results.stream()
+                .flatMap(List::stream)
+                .collect(toList());
+    }
+
+    private List<Component> selectComponents(String env, List<String> groups, List<String> services) {
+        List<Component> components = runner.getMicroconfig().inEnvironment(env).findComponentsFrom(groups, services).asList();
+        List<Component> selected = shard.select(components, Component::getName, c -> costs.costOf(env, c.getName()));
+        info("Shard " + shard + " builds " + selected.size() + " of " + components.size() + " component(s) in [" + env + "].");
+        return selected;
+    }
+}
@@ -0,0 +1,57 @@
+package io.microconfig.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.core.ComponentDependencies.collectFrom;
+import static io.microconfig.core.ComponentDependencies.referencedComponentsIn;
+import static io.microconfig.core.Microconfig.searchConfigsIn;
+import static io.microconfig.utils.FileUtils.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ComponentDependenciesTest {
+    @TempDir
+    File root;
+    ComponentDependencies dependencies;
+
+    @BeforeEach
+    void setUp() {
+        write(new File(root, "components/base/application.yaml"), "base.key: b");
+        write(new File(root, "components/app/application.yaml"), "#include base\napp.key: a");
+        write(new File(root, "components/client/application.yaml"), "client.url: ${app@app.key}");
+        write(new File(root, "components/other/application.yaml"), "other.key: o");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - app\n    - client\n    - other");
+
+        dependencies = collectFrom(searchConfigsIn(root).inEnvironment("dev").getAllComponents());
+    }
+
+    @Test
+    void includedFolderAffectsComponentAndItsReferences() {
+        assertEquals(asList("app", "client"), asList(dependencies.affectedBy(singleton("base")).toArray()));
+    }
+
+    @Test
+    void referencedComponentAffectsComponent() {
+        assertEquals(asList("app", "client"), asList(dependencies.affectedBy(singleton("app")).toArray()));
+        assertEquals(singleton("client"), dependencies.affectedBy(singleton("client")));
+    }
+
+    @Test
+    void unrelatedComponentIsNotAffected() {
+        assertEquals(singleton("other"), dependencies.affectedBy(singleton("other")));
+        assertTrue(dependencies.affectedBy(singleton("missing")).isEmpty());
+        assertTrue(dependencies.contains("other"));
+    }
+
+    @Test
+    void referencedComponents() {
+        assertEquals(asList("c1", "c2"), asList(referencedComponentsIn("${c1@k}:${c2[dev]@k:${c1@d}}").toArray()));
+        assertTrue(referencedComponentsIn("plain").isEmpty());
+    }
+}
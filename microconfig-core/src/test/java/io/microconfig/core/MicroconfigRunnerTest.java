@@ -1,15 +1,21 @@
 package io.microconfig.core;
 
 import io.microconfig.core.environments.repository.EnvironmentException;
+import io.microconfig.core.properties.Properties;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 
 import static io.microconfig.core.ClasspathReader.classpathFile;
+import static io.microconfig.core.configtypes.ConfigTypeFilters.configTypeWithName;
+import static io.microconfig.utils.FileUtils.write;
 import static io.microconfig.utils.IoUtils.readFully;
+import static io.microconfig.utils.StringUtils.unixLikePath;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,6 +33,33 @@ class MicroconfigRunnerTest {
         assertEquals("c=3", readFully(resultFile));
     }
 
+    @Test
+    void testBuildSeveralEnvsWithSharedRunner() {
+        File root = classpathFile("repo");
+        MicroconfigRunner runner = new MicroconfigRunner(root, destinationDir, true);
+        runner.build("var", emptyList(), emptyList());
+        runner.build("special", emptyList(), singletonList("specialPlaceholders"));
+
+        assertEquals("c=3", readFully(new File(destinationDir, "var/var/service.properties")));
+        assertTrue(readFully(new File(destinationDir, "special/specialPlaceholders/application.properties"))
+                .contains("component.resultDir=" + unixLikePath(new File(destinationDir, "special/specialPlaceholders").getAbsolutePath())));
+    }
+
+    @Test
+    void testBuildSelectedConfigTypes(@TempDir File root) {
+        write(new File(root, "components/c1/application.yaml"), "app.key: a");
+        write(new File(root, "components/c1/process.proc"), "process.key: p");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - c1");
+
+        Properties properties = new MicroconfigRunner(root, destinationDir)
+                .buildProperties("dev", emptyList(), emptyList(), configTypeWithName("process"));
+
+        assertEquals(1, properties.asTypedProperties().size());
+        assertEquals("process", properties.asTypedProperties().get(0).getConfigType().getName());
+        assertEquals("p", properties.getPropertyWithKey("process.key").get().getValue());
+        assertFalse(properties.getPropertyWithKey("app.key").isPresent());
+    }
+
     @Test
     void testBuildAbstract() {
         File root = classpathFile("repo");
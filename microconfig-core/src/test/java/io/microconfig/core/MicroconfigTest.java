@@ -1,27 +1,43 @@
 package io.microconfig.core;
 
+import io.microconfig.core.parsecache.ParseCache;
+import io.microconfig.core.properties.DeclaringComponent;
+import io.microconfig.core.properties.FileBasedComponent;
+import io.microconfig.core.properties.Properties;
+import io.microconfig.io.DumpedFsReader;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static io.microconfig.core.ClasspathReader.classpathFile;
 import static io.microconfig.core.Microconfig.searchConfigsIn;
 import static io.microconfig.core.configtypes.ConfigTypeFilters.configType;
 import static io.microconfig.core.configtypes.StandardConfigType.APPLICATION;
+import static io.microconfig.core.parsecache.ParseCache.loadFrom;
+import static io.microconfig.core.parsecache.ParseCache.noParseCache;
 import static io.microconfig.core.properties.serializers.PropertySerializers.asString;
 import static io.microconfig.utils.FileUtils.walk;
+import static io.microconfig.utils.FileUtils.write;
 import static io.microconfig.utils.IoUtils.readFully;
 import static io.microconfig.utils.StringUtils.toUnixPathSeparator;
 import static io.microconfig.utils.StringUtils.unixLikePath;
 import static java.lang.Math.min;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 public class MicroconfigTest {
@@ -43,6 +59,96 @@ public class MicroconfigTest {
         assertThrows(IllegalArgumentException.class, () -> searchConfigsIn(new File("missingDir")));
     }
 
+    @Test
+    void invalidatesOnlyComponentsOfChangedFiles(@TempDir File tempRoot) {
+        File base = new File(tempRoot, "components/base/application.yaml");
+        write(base, "base.key: b");
+        write(new File(tempRoot, "components/app/application.yaml"), "#include base\napp.key: ${this@base.key}");
+        write(new File(tempRoot, "components/other/application.yaml"), "other.key: o");
+        write(new File(tempRoot, "envs/dev.yaml"), "apps:\n  components:\n    - app\n    - other");
+        Microconfig microconfig = searchConfigsIn(tempRoot);
+
+        Properties app = propertiesOf(microconfig, "app");
+        Properties other = propertiesOf(microconfig, "other");
+        assertEquals("b", app.resolveBy(microconfig.resolver()).getPropertyWithKey("app.key").get().getValue());
+
+        write(base, "base.key: changed");
+        microconfig.invalidate(singletonList(base));
+
+        assertNotSame(app, propertiesOf(microconfig, "app"));
+        assertSame(other, propertiesOf(microconfig, "other"));
+        assertEquals("changed", propertiesOf(microconfig, "app").resolveBy(microconfig.resolver())
+                .getPropertyWithKey("app.key").get().getValue());
+    }
+
+    @Test
+    void namesAreSharedWithinInstance(@TempDir File tempRoot) {
+        write(new File(tempRoot, "components/app/application.yaml"), "app:\n  key: a");
+        write(new File(tempRoot, "components/other/application.yaml"), "app.key: o");
+        write(new File(tempRoot, "envs/dev.yaml"), "apps:\n  components:\n    - app\n    - other");
+        Microconfig first = searchConfigsIn(tempRoot);
+        Microconfig second = searchConfigsIn(tempRoot);
+
+        String key = keyOf(first, "app");
+        assertSame(key, keyOf(first, "other"));
+        assertNotSame(key, keyOf(second, "app"));
+    }
+
+    @Test
+    void sourceLocationsArePerInstance(@TempDir File tempRoot) {
+        write(new File(tempRoot, "components/app/application.yaml"), "app.key: a\napp.other: b");
+        write(new File(tempRoot, "envs/dev.yaml"), "apps:\n  components:\n    - app");
+        Microconfig withoutLocations = searchConfigsIn(tempRoot).withSourceLocations(false);
+        Microconfig withLocations = searchConfigsIn(tempRoot);
+
+        Properties properties = propertiesOf(withoutLocations, "app");
+        DeclaringComponent declaring = properties.getPropertyWithKey("app.key").get().getDeclaringComponent();
+        assertFalse(declaring instanceof FileBasedComponent);
+        assertSame(declaring, properties.getPropertyWithKey("app.other").get().getDeclaringComponent());
+        assertTrue(propertiesOf(withLocations, "app").getPropertyWithKey("app.key").get().getDeclaringComponent() instanceof FileBasedComponent);
+    }
+
+    @Test
+    void parseCacheRequiresSourceLocations(@TempDir File tempRoot) {
+        ParseCache parseCache = loadFrom(new File(tempRoot, "cache"));
+        Microconfig microconfig = searchConfigsIn(root);
+
+        assertThrows(IllegalArgumentException.class, () -> microconfig.withSourceLocations(false).withParseCache(parseCache));
+        assertThrows(IllegalArgumentException.class, () -> microconfig.withParseCache(parseCache).withSourceLocations(false));
+        assertFalse(microconfig.withSourceLocations(false).withParseCache(noParseCache()).sourceLocations());
+    }
+
+    @Test
+    void prefetchesOnlyFilesOfRequestedComponentsAndTypes(@TempDir File tempRoot) {
+        File application = new File(tempRoot, "components/app/application.yaml");
+        File deploy = new File(tempRoot, "components/app/app.deploy");
+        File other = new File(tempRoot, "components/other/application.yaml");
+        write(application, "app.key: a");
+        write(deploy, "image: app");
+        write(other, "app.key: o");
+        write(new File(tempRoot, "envs/dev.yaml"), "apps:\n  components:\n    - app\n    - other");
+        Set<File> prefetched = newKeySet();
+        Microconfig microconfig = searchConfigsIn(tempRoot).withFsReader(new DumpedFsReader() {
+            @Override
+            public void prefetch(File file) {
+                prefetched.add(file);
+            }
+        });
+
+        propertiesOf(microconfig, "app");
+        assertTrue(prefetched.contains(application));
+        assertFalse(prefetched.contains(deploy));
+        assertFalse(prefetched.contains(other));
+    }
+
+    private String keyOf(Microconfig microconfig, String component) {
+        return propertiesOf(microconfig, component).getPropertyWithKey("app.key").get().getKey();
+    }
+
+    private Properties propertiesOf(Microconfig microconfig, String component) {
+        return microconfig.inEnvironment("dev").findComponentWithName(component).getPropertiesFor(configType(APPLICATION));
+    }
+
     private boolean isExpectation(File file) {
         String name = file.getName();
         return overriddenTest(file) &&
@@ -14,6 +14,8 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -91,6 +93,23 @@ class EnvironmentImplTest {
         assertEquals(four, env.findComponentWithName("four"));
     }
 
+    @Test
+    void findComponentOrder() {
+        assertEquals(of(1), env.findComponentOrder("two"));
+        assertEquals(of(0), env.findComponentOrder("three"));
+        assertEquals(empty(), env.findComponentOrder("four"));
+    }
+
+    @Test
+    void defaultComponentOrder() {
+        Environment other = mock(Environment.class, CALLS_REAL_METHODS);
+        doReturn(of(group1)).when(other).findGroupWithComponent("two");
+        doReturn(empty()).when(other).findGroupWithComponent("four");
+
+        assertEquals(of(1), other.findComponentOrder("two"));
+        assertEquals(empty(), other.findComponentOrder("four"));
+    }
+
     @Test
     void findComponentsFrom() {
         assertEquals(components(one, two, three), env.findComponentsFrom(emptyList(), emptyList()));
@@ -2,25 +2,30 @@ package io.microconfig.core.environments.repository;
 
 import io.microconfig.core.configtypes.ConfigTypeRepository;
 import io.microconfig.core.environments.*;
+import io.microconfig.core.profiling.BuildProfiler;
 import io.microconfig.core.properties.PropertiesFactory;
 import io.microconfig.io.DumpedFsReader;
 import io.microconfig.io.FsReader;
+import io.microconfig.utils.CacheBudget;
 import io.microconfig.utils.CollectionUtils;
+import io.microconfig.utils.Memos;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.util.List;
 
 import static io.microconfig.core.ClasspathReader.classpathFile;
+import static io.microconfig.core.parsecache.ParseCache.noParseCache;
 import static java.util.Arrays.asList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class FileEnvironmentRepositoryTest {
     File dir = classpathFile("envs/good");
@@ -89,6 +94,33 @@ class FileEnvironmentRepositoryTest {
         assertEquals(0, fake.getAllComponents().asList().size());
     }
 
+    @Test
+    void parsesEachEnvFileOnce() {
+        FsReader countingReader = spy(new DumpedFsReader());
+        FileEnvironmentRepository repo = new FileEnvironmentRepository(dir, countingReader, componentFactory, propertiesFactory);
+
+        assertEquals(5, repo.environmentNames().size());
+        assertSame(repo.getByName("dev"), repo.getByName("dev"));
+        repo.environments();
+        verify(countingReader, times(6)).readFully(any(File.class));
+
+        repo.invalidate();
+        repo.getByName("dev");
+        verify(countingReader, atLeast(7)).readFully(any(File.class));
+    }
+
+    @Test
+    void parsedEnvironmentsAreChargedToBudget() {
+        CacheBudget budget = new CacheBudget(1 << 20);
+        FileEnvironmentRepository repo = new FileEnvironmentRepository(dir, fsReader, componentFactory, propertiesFactory,
+                noParseCache(), new BuildProfiler(), new Memos(budget));
+
+        repo.getByName("dev");
+        assertTrue(budget.usedBytes() > 0);
+        repo.invalidate();
+        assertEquals(0, budget.usedBytes());
+    }
+
     private void testDev(Environment env) {
         assertFalse(env.isAbstract());
         assertEquals(0, env.getPortOffset());
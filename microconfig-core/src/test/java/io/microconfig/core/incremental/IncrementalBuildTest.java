@@ -0,0 +1,79 @@
+package io.microconfig.core.incremental;
+
+import io.microconfig.core.MicroconfigRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.core.ClasspathReader.classpathFile;
+import static io.microconfig.core.incremental.BuildManifest.MANIFEST_FILE;
+import static io.microconfig.core.sharding.ComponentCosts.loadFrom;
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtils.readFully;
+import static io.microconfig.utils.StringUtils.unixLikePath;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalBuildTest {
+    @TempDir
+    File destinationDir;
+
+    @Test
+    void skipsUpToDateComponents() {
+        File resultFile = new File(destinationDir, "var/service.properties");
+        build();
+        assertTrue(new File(destinationDir, MANIFEST_FILE).exists());
+        assertEquals("c=3", readFully(resultFile));
+
+        assertTrue(resultFile.setLastModified(1000));
+        build();
+        assertEquals(1000, resultFile.lastModified());
+    }
+
+    @Test
+    void rebuildsChangedOutputs() {
+        File resultFile = new File(destinationDir, "var/service.properties");
+        build();
+        write(resultFile, "c=4");
+
+        build();
+        assertEquals("c=3", readFully(resultFile));
+    }
+
+    @Test
+    void recordsFileReadsOfCachedValues(@TempDir File root) {
+        File input = new File(root, "input.txt");
+        write(input, "v1");
+        write(new File(root, "components/app/application.properties"), "key=#{#readString('" + unixLikePath(input.getAbsolutePath()) + "')}");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - app");
+        MicroconfigRunner runner = new MicroconfigRunner(root, destinationDir);
+        File resultFile = new File(destinationDir, "app/application.properties");
+
+        runner.build("dev", emptyList(), emptyList());
+        runner.getIncrementalBuild().build("dev", emptyList(), emptyList());
+        assertTrue(readFully(new File(destinationDir, MANIFEST_FILE)).contains("input.txt"));
+
+        write(input, "v2");
+        runner.getMicroconfig().invalidate(singletonList(input));
+        runner.getIncrementalBuild().build("dev", emptyList(), emptyList());
+        assertEquals("key=v2", readFully(resultFile).trim());
+    }
+
+    @Test
+    void recordsCostsOfRebuiltComponents(@TempDir File costsDir) {
+        File costsFile = new File(costsDir, "costs");
+        MicroconfigRunner runner = new MicroconfigRunner(classpathFile("repo"), destinationDir);
+        runner.getIncrementalBuild().withCosts(loadFrom(costsFile)).build("var", emptyList(), singletonList("var"));
+
+        assertTrue(readFully(costsFile).startsWith("var/var="));
+    }
+
+    private void build() {
+        new MicroconfigRunner(classpathFile("repo"), destinationDir)
+                .getIncrementalBuild()
+                .build("var", emptyList(), emptyList());
+    }
+}
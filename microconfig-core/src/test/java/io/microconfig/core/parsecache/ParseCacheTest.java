@@ -0,0 +1,86 @@
+package io.microconfig.core.parsecache;
+
+import io.microconfig.core.properties.Property;
+import io.microconfig.core.properties.io.ConfigIo;
+import io.microconfig.io.CachingFsReader;
+import io.microconfig.io.DumpedFsReader;
+import io.microconfig.io.FsReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.microconfig.core.parsecache.ParseCache.loadFrom;
+import static io.microconfig.core.parsecache.TreeCodec.TREE;
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
+import static io.microconfig.core.properties.io.selector.ConfigIoFactory.newConfigIo;
+import static io.microconfig.utils.FileUtils.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParseCacheTest {
+    @TempDir
+    File dir;
+    FsReader fsReader = new DumpedFsReader();
+
+    @Test
+    void configIsParsedOnceAcrossRuns() {
+        File config = new File(dir, "components/c1/application.yaml");
+        write(config, "#include base\nserver:\n  port: 80\n+dev.server.port: 90\n@var.name: c1");
+        File cacheFile = new File(dir, "build/cache");
+        ConfigIo configIo = newConfigIo(new DumpedFsReader());
+
+        ParseCache firstRun = loadFrom(cacheFile);
+        List<Property> parsed = new CachedConfigIo(configIo, firstRun).readFrom(config).properties("app", "dev");
+        firstRun.save();
+
+        ConfigIo failing = mock(ConfigIo.class);
+        when(failing.readFrom(config)).thenThrow(new AssertionError("must not parse"));
+        CachedConfigIo cached = new CachedConfigIo(failing, loadFrom(cacheFile));
+        assertEquals(parsed, cached.readFrom(config).properties("app", "dev"));
+        assertEquals(configIo.readFrom(config).commentsByLineNumber(), cached.readFrom(config).commentsByLineNumber());
+        assertEquals(configIo.readFrom(config).properties("app", "uat"), cached.readFrom(config).properties("app", "uat"));
+
+        write(config, "server.port: 81");
+        assertEquals("81", new CachedConfigIo(configIo, loadFrom(cacheFile)).readFrom(config).properties("app", "dev").get(0).getValue());
+    }
+
+    @Test
+    void missReadsFileOnce() {
+        File config = new File(dir, "components/c1/application.yaml");
+        write(config, "server.port: 80");
+        AtomicInteger hashedReads = new AtomicInteger();
+        CachingFsReader reader = new CachingFsReader() {
+            @Override
+            public byte[] readBytes(File file) {
+                hashedReads.incrementAndGet();
+                return super.readBytes(file);
+            }
+        };
+        CachedConfigIo cached = new CachedConfigIo(newConfigIo(reader), loadFrom(new File(dir, "cache")), reader, defaultSources());
+
+        assertEquals("80", cached.readFrom(config).properties("app", "dev").get(0).getValue());
+        assertEquals(1, hashedReads.get());
+        assertEquals(1, reader.misses());
+    }
+
+    @Test
+    void treeRoundTrip() {
+        File env = new File(dir, "envs/dev.yaml");
+        write(env, "ip: 1");
+        Map<String, Object> tree = singletonMap("components", asList(1, 2L, 3.0, true, null, "s", singletonMap("k", "v")));
+        File cacheFile = new File(dir, "cache");
+
+        ParseCache parseCache = loadFrom(cacheFile);
+        assertEquals(tree, parseCache.get(env, TREE, fsReader, () -> tree));
+        parseCache.save();
+        assertEquals(tree, loadFrom(cacheFile).getIfValid(env, TREE, fsReader));
+        assertNull(ParseCache.noParseCache().getIfValid(env, TREE, fsReader));
+    }
+}
@@ -0,0 +1,103 @@
+package io.microconfig.core.profiling;
+
+import io.microconfig.core.properties.DeclaringComponentImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static io.microconfig.core.profiling.Phase.*;
+import static java.util.Collections.singleton;
+import static jdk.jfr.consumer.RecordingFile.readAllEvents;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildProfilerTest {
+    BuildProfiler profiler = new BuildProfiler();
+
+    @Test
+    void nestedPhasesAreNotCountedTwice() {
+        profiler.enableProfiling(true);
+        String value = profiler.profileProperty(new DeclaringComponentImpl("app", "c1", "dev"), "key", () -> {
+            sleep(20);
+            return profiler.profile(EXPRESSIONS, "c1", () -> {
+                sleep(30);
+                return "value";
+            });
+        });
+        assertEquals("value", value);
+
+        ProfileReport report = profiler.report();
+        long placeholders = report.getNanosByPhase().get(PLACEHOLDERS);
+        long expressions = report.getNanosByPhase().get(EXPRESSIONS);
+        assertTrue(expressions >= 30_000_000);
+        assertTrue(placeholders >= 20_000_000);
+        assertEquals(placeholders + expressions, report.getNanosByComponent().get("c1"));
+        assertTrue(report.getNanosByProperty().get("c1:key") >= placeholders + expressions);
+        assertEquals("c1", report.slowestComponents(1).get(0).getKey());
+    }
+
+    @Test
+    void disabledProfilerRecordsNothing() {
+        assertEquals("value", profiler.profile(CONFIG_READING, "c1", () -> "value"));
+        assertEquals("value", profiler.profile(EXPRESSIONS, null, "key", () -> "value"));
+        assertTrue(profiler.report().getNanosByComponent().isEmpty());
+        assertEquals(0, profiler.report().getNanosByPhase().get(CONFIG_READING));
+    }
+
+    @Test
+    void profilersOfDifferentBuildsDontMix() {
+        BuildProfiler other = new BuildProfiler();
+        profiler.enableProfiling(true);
+        other.enableProfiling(true);
+        profiler.profile(WRITING, "c1", () -> sleep(1));
+        other.profile(WRITING, "c2", () -> sleep(1));
+
+        assertEquals(singleton("c1"), profiler.report().getNanosByComponent().keySet());
+        assertEquals(singleton("c2"), other.report().getNanosByComponent().keySet());
+        assertEquals("value", profiler.profile(EXPRESSIONS, null, "key", () -> "value"));
+    }
+
+    @Test
+    void reports() {
+        profiler.enableProfiling(true);
+        profiler.profile(WRITING, "c1", () -> sleep(1));
+        ProfileReport report = profiler.report();
+        assertTrue(report.toText(10).contains("diff and write"));
+        assertTrue(report.toJson(10).contains("\"c1\""));
+    }
+
+    @Test
+    void emitsJfrEvents(@TempDir File dir) throws IOException {
+        Path dump = new File(dir, "build.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable(BuildPhaseEvent.class).withoutThreshold();
+            recording.start();
+            profiler.profile(CONFIG_READING, "c1", "dev", "app", "application.yaml", () -> "value");
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = readAllEvents(dump);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(CONFIG_READING.getTitle(), event.getString("phase"));
+        assertEquals("c1", event.getString("component"));
+        assertEquals("dev", event.getString("environment"));
+        assertEquals("app", event.getString("configType"));
+        assertEquals("application.yaml", event.getString("key"));
+        assertTrue(profiler.report().getNanosByComponent().isEmpty());
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
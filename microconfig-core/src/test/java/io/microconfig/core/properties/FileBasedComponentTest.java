@@ -1,12 +1,14 @@
 package io.microconfig.core.properties;
 
+import io.microconfig.utils.SymbolTable;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 
+import static io.microconfig.core.properties.ConfigSource.configSource;
 import static io.microconfig.core.properties.FileBasedComponent.fileSource;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static io.microconfig.utils.CacheBudget.unlimited;
+import static org.junit.jupiter.api.Assertions.*;
 
 class FileBasedComponentTest {
     File file = new File("root/components/comp/config.yaml");
@@ -33,4 +35,26 @@ class FileBasedComponentTest {
     void string() {
         assertEquals("../components/comp/config.yaml:1", source.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    void sharedSource() {
+        ConfigSource configSource = configSource(file, "app", "dev");
+        DeclaringComponent line = configSource.at(7, false);
+        assertEquals(new FileBasedComponent(file, 7, false, "app", "dev"), line);
+        assertEquals("comp", line.getComponent());
+        assertEquals("../components/comp/config.yaml:8", line.toString());
+    }
+
+    @Test
+    void withoutSourceLocations() {
+        ConfigSources sources = new ConfigSources(new SymbolTable(), false, unlimited());
+        ConfigSource configSource = sources.sourceOf(file, "app", "dev");
+        DeclaringComponent component = configSource.at(3, true);
+        assertEquals(new DeclaringComponentImpl("app", "comp", "dev"), component);
+        assertSame(component, sources.sourceOf(new File(file.getParentFile(), "other.yaml"), "app", "dev").at(5, true));
+        assertEquals("../components/comp/config.yaml:4", configSource.location(3, true).toString());
+
+        assertNotSame(component, new ConfigSources(new SymbolTable(), false, unlimited()).sourceOf(file, "app", "dev").at(3, true));
+        assertInstanceOf(FileBasedComponent.class, configSource(file, "app", "dev").at(3, true));
+    }
+}
@@ -1,11 +1,14 @@
 package io.microconfig.core.properties;
 
+import io.microconfig.core.profiling.BuildProfiler;
+import io.microconfig.utils.SymbolTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.*;
 
 import static io.microconfig.core.configtypes.StandardConfigType.APPLICATION;
+import static io.microconfig.utils.CacheBudget.unlimited;
 import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
 import static io.microconfig.utils.StreamUtils.toLinkedMap;
 import static io.microconfig.utils.StringUtils.splitKeyValue;
@@ -16,6 +19,7 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.function.Function.identity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +43,17 @@ class TypedPropertiesImplTest {
         );
     }
 
+    @Test
+    void declaringComponentIsShared() {
+        ConfigSources sources = new ConfigSources(new SymbolTable(), true, unlimited());
+        TypedProperties properties = new TypedPropertiesImpl(APPLICATION, "comp", "env", new LinkedHashMap<>(), emptyList(), new BuildProfiler(), sources);
+
+        DeclaringComponent component = properties.getDeclaringComponent();
+        assertSame(component, properties.getDeclaringComponent());
+        assertSame(component, sources.declaringComponent("app", "comp", "env"));
+        assertSame(component, properties.withoutVars().getDeclaringComponent());
+    }
+
     @Test
     void resolve() {
         Property resolved1 = property("resolved1");
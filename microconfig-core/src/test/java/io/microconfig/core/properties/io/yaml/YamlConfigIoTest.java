@@ -3,8 +3,13 @@ package io.microconfig.core.properties.io.yaml;
 import io.microconfig.core.properties.FileBasedComponent;
 import io.microconfig.core.properties.Property;
 import io.microconfig.core.properties.io.ConfigReader;
+import io.microconfig.io.CachingFsReader;
 import io.microconfig.io.DumpedFsReader;
+import io.microconfig.io.FsReader;
+import io.microconfig.io.MappedFsReader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -13,6 +18,9 @@ import java.util.TreeMap;
 
 import static io.microconfig.core.ClasspathReader.classpathFile;
 import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
+import static io.microconfig.utils.IoUtils.readFully;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class YamlConfigIoTest {
@@ -95,4 +103,53 @@ class YamlConfigIoTest {
         Map<String, String> expected = yaml.readFrom(classpathFile("configFormats/yaml/parse/multilines.yaml")).propertiesAsMap();
         assertEquals(map, expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void comments() {
+        Map<Integer, String> expected = new TreeMap<>();
+        expected.put(0, "# top comment");
+        expected.put(2, "# port comment");
+        expected.put(7, "#last");
+
+        ConfigReader read = yaml.readFrom(classpathFile("configFormats/yaml/parse/comments.yaml"));
+        assertEquals(expected, read.commentsByLineNumber());
+        assertEquals("80", read.propertiesAsMap().get("server.port"));
+    }
+
+    @Test
+    void whitespaceLineShorterThanComplexValueOffset() {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("list", "[" + LINES_SEPARATOR + "  a," + LINES_SEPARATOR + LINES_SEPARATOR + "  b" + LINES_SEPARATOR + "]");
+        expected.put("key", "v");
+
+        assertEquals(expected, yaml.readFrom(classpathFile("configFormats/yaml/parse/shortBlankLine.yaml")).propertiesAsMap());
+    }
+
+    /**
+     * Expected properties are the output of the yaml reader before it was moved to the shared file buffer.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"parse/simple.yaml", "parse/inner.yaml", "parse/inner2.yaml", "parse/multilines.yaml", "parse/mapLikeName.yaml",
+            "list/list.yaml", "sortOrder/initial.yaml", "tree/escapedResult.yaml"})
+    void sameResultForAllReaders(String file) {
+        List<String> expected = expectedPropertiesOf(file);
+        for (FsReader reader : asList(new DumpedFsReader(), new MappedFsReader(), new CachingFsReader())) {
+            List<Property> actual = new YamlConfigIo(reader).readFrom(classpathFile("configFormats/yaml/" + file)).properties("app", "dev");
+            assertEquals(expected, actual.stream().map(this::lineAndProperty).collect(toList()));
+        }
+    }
+
+    private List<String> expectedPropertiesOf(String file) {
+        List<String> lines = asList(readFully(classpathFile("configFormats/yaml/expectedProperties.txt")).split("\\R"));
+        int start = lines.indexOf("== " + file) + 1;
+        int end = start;
+        while (end < lines.size() && !lines.get(end).startsWith("== ")) {
+            ++end;
+        }
+        return lines.subList(start, end);
+    }
+
+    private String lineAndProperty(Property p) {
+        return ((FileBasedComponent) p.getDeclaringComponent()).getLineNumber() + " " + p.toString().replace(LINES_SEPARATOR, "\\n");
+    }
+}
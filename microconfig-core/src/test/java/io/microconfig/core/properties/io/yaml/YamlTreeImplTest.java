@@ -9,6 +9,7 @@ import java.util.TreeMap;
 
 import static io.microconfig.core.ClasspathReader.classpathFile;
 import static io.microconfig.core.ClasspathReader.read;
+import static io.microconfig.core.properties.ConfigSources.defaultSources;
 import static io.microconfig.utils.StringUtils.toUnixPathSeparator;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -75,7 +76,7 @@ class YamlTreeImplTest {
 
     private String toYaml(String file) {
         return new YamlTreeImpl().toYaml(
-                new YamlReader(classpathFile(file), new DumpedFsReader()).propertiesAsMap()
+                new YamlReader(classpathFile(file), new DumpedFsReader(), defaultSources()).propertiesAsMap()
         );
     }
 
@@ -0,0 +1,83 @@
+package io.microconfig.core.properties.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static io.microconfig.core.configtypes.StandardConfigType.APPLICATION;
+import static io.microconfig.utils.FileUtils.delete;
+import static io.microconfig.utils.FileUtils.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.nio.file.Files.createSymbolicLink;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentGraphImplTest {
+    @TempDir
+    File root;
+    File component;
+
+    @BeforeEach
+    void setUp() {
+        component = new File(root, "components/group/c1");
+        asList("application.yaml", "application.dev.yaml", "application.dev.test.yaml", "application.test.yaml", "process.proc")
+                .forEach(this::create);
+    }
+
+    @Test
+    void configFilesByPriority() {
+        ComponentGraphImpl graph = ComponentGraphImpl.traverseFrom(root);
+        assertEquals(asList("application.yaml", "application.dev.test.yaml", "application.dev.yaml"), configFilesOf(graph, "dev"));
+        assertEquals(asList("application.yaml", "application.dev.test.yaml", "application.dev.yaml", "application.test.yaml"), configFilesOf(graph, ""));
+        assertEquals(new File(root, "components/group"), graph.getFolderOf("group").get());
+        assertThrows(ComponentNotFoundException.class, () -> graph.getConfigFilesOf("c2", "dev", APPLICATION));
+    }
+
+    @Test
+    void refresh() {
+        ComponentGraphImpl graph = ComponentGraphImpl.traverseFrom(root);
+        File added = create("application.dev.yml");
+        File removed = new File(component, "application.dev.test.yaml");
+        delete(removed);
+        assertEquals(asList("application.yaml", "application.dev.test.yaml", "application.dev.yaml"), configFilesOf(graph, "dev"));
+
+        graph.refresh(asList(added, removed));
+        assertEquals(asList("application.yaml", "application.dev.yaml", "application.dev.yml"), configFilesOf(graph, "dev"));
+        graph.refresh(singletonList(new File(root, "envs/dev.yaml")));
+        assertEquals(3, configFilesOf(graph, "dev").size());
+    }
+
+    @Test
+    void symlinkedFolders() throws IOException {
+        File shared = new File(root, "shared/c2");
+        write(new File(shared, "application.yaml"), "key: value");
+        createSymbolicLink(new File(root, "components/group/c2").toPath(), shared.toPath());
+        createSymbolicLink(new File(component, "loop").toPath(), new File(root, "components").toPath());
+
+        ComponentGraphImpl graph = ComponentGraphImpl.traverseFrom(root);
+        assertEquals(singletonList("application.yaml"), configFilesOf(graph, "c2", "dev"));
+        assertEquals(new File(root, "components/group/c2"), graph.getFolderOf("c2").get());
+        assertEquals(3, configFilesOf(graph, "dev").size());
+    }
+
+    private List<String> configFilesOf(ComponentGraph graph, String env) {
+        return configFilesOf(graph, "c1", env);
+    }
+
+    private List<String> configFilesOf(ComponentGraph graph, String component, String env) {
+        return graph.getConfigFilesOf(component, env, APPLICATION).stream()
+                .map(c -> c.getFile().getName())
+                .collect(toList());
+    }
+
+    private File create(String name) {
+        File file = new File(component, name);
+        write(file, "key: value");
+        return file;
+    }
+}
@@ -0,0 +1,54 @@
+package io.microconfig.core.properties.resolvers;
+
+import io.microconfig.core.properties.resolvers.placeholder.CompiledPlaceholder;
+import io.microconfig.core.properties.resolvers.placeholder.Placeholder;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.microconfig.core.properties.resolvers.CompiledValue.compile;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledValueTest {
+    @Test
+    void literals() {
+        assertLiteral("plain value");
+        assertLiteral("${}");
+        assertLiteral("${ @ } $ {c@v}");
+        assertEquals(compile("value"), compile("value"));
+    }
+
+    @Test
+    void placeholders() {
+        CompiledValue value = compile("a ${c1@k1} b ${app::c2[dev]@k2:default} c");
+        assertFalse(value.isLiteral());
+
+        List<CompiledPlaceholder> placeholders = value.getPlaceholders();
+        assertEquals(2, placeholders.size());
+        assertEquals("${c1@k1}", placeholders.get(0).toString());
+        assertEquals(2, placeholders.get(0).getStartIndex());
+        assertEquals(10, placeholders.get(0).getEndIndex());
+
+        Placeholder first = placeholders.get(0).toPlaceholder("ctxType", "ctxEnv");
+        assertEquals("ctxType", first.getConfigType());
+        assertEquals("${c1[ctxEnv]@k1}", first.toString());
+
+        Placeholder second = placeholders.get(1).toPlaceholder("ctxType", "ctxEnv");
+        assertEquals("app", second.getConfigType());
+        assertEquals("${c2[dev]@k2:default}", second.toString());
+    }
+
+    @Test
+    void expressions() {
+        CompiledValue value = compile("#{1 + 2}");
+        assertFalse(value.isLiteral());
+        assertTrue(value.getPlaceholders().isEmpty());
+    }
+
+    private void assertLiteral(String value) {
+        CompiledValue compiled = compile(value);
+        assertTrue(compiled.isLiteral());
+        assertTrue(compiled.getPlaceholders().isEmpty());
+        assertEquals(value, compiled.getValue());
+    }
+}
@@ -0,0 +1,49 @@
+package io.microconfig.core.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.core.sharding.ComponentCosts.loadFrom;
+import static io.microconfig.utils.FileUtils.write;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ComponentCostsTest {
+    @TempDir
+    File dir;
+
+    @Test
+    void costsArePerEnv() {
+        File file = new File(dir, "costs");
+        ComponentCosts costs = loadFrom(file);
+        costs.record("dev", "a", 10);
+        costs.record("prod", "a", 100);
+        costs.save();
+
+        ComponentCosts loaded = loadFrom(file);
+        assertEquals(10, loaded.costOf("dev", "a"));
+        assertEquals(100, loaded.costOf("prod", "a"));
+    }
+
+    @Test
+    void measurementsAreAveraged() {
+        ComponentCosts costs = loadFrom(new File(dir, "costs"));
+        costs.record("dev", "a", 10);
+        costs.record("dev", "a", 30);
+
+        assertEquals(20, costs.costOf("dev", "a"));
+    }
+
+    @Test
+    void linesWithoutEnvAreFallback() {
+        File file = new File(dir, "costs");
+        write(file, "a=7\nb=5\ndev/a=3\n");
+        ComponentCosts costs = loadFrom(file);
+
+        assertEquals(3, costs.costOf("dev", "a"));
+        assertEquals(7, costs.costOf("prod", "a"));
+        assertEquals(5, costs.costOf("dev", "b"));
+        assertEquals(5, costs.costOf("dev", "new"));
+    }
+}
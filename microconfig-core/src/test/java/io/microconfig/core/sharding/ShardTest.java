@@ -0,0 +1,40 @@
+package io.microconfig.core.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.microconfig.core.sharding.Shard.parseShard;
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardTest {
+    List<String> components = asList("a", "b", "c", "d", "e");
+    Map<String, Long> costs = Map.of("a", 1L, "b", 50L, "c", 2L, "d", 3L, "e", 4L);
+
+    @Test
+    void parse() {
+        assertEquals(new Shard(2, 3), parseShard("2/3"));
+        assertThrows(IllegalArgumentException.class, () -> parseShard("0/3"));
+        assertThrows(IllegalArgumentException.class, () -> parseShard("4/3"));
+        assertThrows(IllegalArgumentException.class, () -> parseShard("true"));
+    }
+
+    @Test
+    void balancesByCost() {
+        assertEquals(asList("b"), select(1, 2));
+        assertEquals(asList("a", "c", "d", "e"), select(2, 2));
+    }
+
+    @Test
+    void emptyShard() {
+        assertEquals(asList(), new Shard(3, 3).select(asList("a", "b"), identity(), c -> 1));
+    }
+
+    private List<String> select(int index, int count) {
+        return new Shard(index, count).select(components, identity(), costs::get);
+    }
+}
@@ -0,0 +1,38 @@
+package io.microconfig.daemon;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor(access = PRIVATE)
+class DaemonProtocol {
+    static final int DEFAULT_PORT = 7857;
+    static final String EXIT_CODE_PREFIX = "\u0000exit:";
+
+    static void writeRequest(OutputStream out, List<String> args) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(args.size());
+        for (String arg : args) {
+            data.writeUTF(arg);
+        }
+        data.flush();
+    }
+
+    static List<String> readRequest(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int size = data.readInt();
+        List<String> args = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            args.add(data.readUTF());
+        }
+        return args;
+    }
+}
@@ -0,0 +1,85 @@
+package io.microconfig.daemon;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.microconfig.daemon.DaemonProtocol.DEFAULT_PORT;
+import static io.microconfig.daemon.DaemonProtocol.EXIT_CODE_PREFIX;
+import static io.microconfig.daemon.DaemonProtocol.writeRequest;
+import static io.microconfig.utils.Logger.error;
+import static java.lang.Integer.parseInt;
+import static java.lang.System.exit;
+import static java.net.InetAddress.getLoopbackAddress;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+
+/**
+ * Sends build params to a running {@link MicroconfigDaemon}. Accepts the same params as the CLI
+ * plus optional -daemonPort. Relative -r and -d are resolved against the client working dir.
+ */
+@RequiredArgsConstructor
+public class MicroconfigClient {
+    private static final String PORT_KEY = "-daemonPort";
+
+    private final int port;
+
+    public static void main(String... args) {
+        List<String> buildArgs = new ArrayList<>(asList(args));
+        int port = DEFAULT_PORT;
+        int portIndex = buildArgs.indexOf(PORT_KEY);
+        if (portIndex >= 0 && portIndex < buildArgs.size() - 1) {
+            port = parseInt(buildArgs.remove(portIndex + 1));
+            buildArgs.remove(portIndex);
+        }
+
+        exit(new MicroconfigClient(port).send(withAbsolutePaths(buildArgs)));
+    }
+
+    private static List<String> withAbsolutePaths(List<String> args) {
+        List<String> result = new ArrayList<>(args);
+        absolutePath(result, "-r", ".");
+        absolutePath(result, "-d", "build");
+        return result;
+    }
+
+    private static void absolutePath(List<String> args, String key, String defaultValue) {
+        int index = args.indexOf(key);
+        if (index < 0) {
+            args.add(key);
+            args.add(new File(defaultValue).getAbsolutePath());
+        } else if (index < args.size() - 1) {
+            String path = args.get(index + 1).replace("\"", "");
+            args.set(index + 1, new File(path).getAbsolutePath());
+        }
+    }
+
+    private int send(List<String> args) {
+        try (Socket socket = new Socket(getLoopbackAddress(), port)) {
+            writeRequest(socket.getOutputStream(), args);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(EXIT_CODE_PREFIX)) {
+                    return parseInt(line.substring(EXIT_CODE_PREFIX.length()));
+                }
+                System.out.println(line);
+            }
+            error("Daemon closed the connection before the build finished");
+            return -1;
+        } catch (ConnectException e) {
+            error("Microconfig daemon isn't running on port " + port);
+            return -1;
+        } catch (IOException e) {
+            error("Can't send build request to daemon: " + e.getMessage());
+            return -1;
+        }
+    }
+}
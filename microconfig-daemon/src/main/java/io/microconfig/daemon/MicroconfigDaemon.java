@@ -0,0 +1,93 @@
+package io.microconfig.daemon;
+
+import io.microconfig.CommandLineParamParser;
+import io.microconfig.MicroconfigParams;
+import io.microconfig.core.MicroconfigRunner;
+import lombok.RequiredArgsConstructor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+
+import static io.microconfig.MicroconfigMain.fromParams;
+import static io.microconfig.daemon.DaemonProtocol.DEFAULT_PORT;
+import static io.microconfig.daemon.DaemonProtocol.EXIT_CODE_PREFIX;
+import static io.microconfig.daemon.DaemonProtocol.readRequest;
+import static io.microconfig.utils.Logger.announce;
+import static io.microconfig.utils.Logger.error;
+import static java.lang.System.nanoTime;
+import static java.net.InetAddress.getLoopbackAddress;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Keeps parsed configs in memory between builds. Requests are sent by {@link MicroconfigClient}
+ * and are handled one at a time. Output of a build is streamed back to the client.
+ * <p>
+ * Command line params example:
+ * -port 7857 -cacheMb 512
+ */
+@RequiredArgsConstructor
+public class MicroconfigDaemon {
+    private final int port;
+    private final WarmMicroconfig warmMicroconfig;
+
+    public static void main(String... args) {
+        CommandLineParamParser params = CommandLineParamParser.parse(args);
+        long cacheLimit = params.intValue("cacheMb", 0) * 1024L * 1024;
+        new MicroconfigDaemon(params.intValue("port", DEFAULT_PORT), new WarmMicroconfig(cacheLimit)).listen();
+    }
+
+    private void listen() {
+        try (ServerSocket server = new ServerSocket(port, 50, getLoopbackAddress())) {
+            announce("Microconfig daemon is listening on " + server.getLocalSocketAddress());
+            while (!Thread.currentThread().isInterrupted()) {
+                try (Socket client = server.accept()) {
+                    handle(client);
+                } catch (IOException | RuntimeException e) {
+                    error("Can't handle build request: " + e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't start daemon on port " + port, e);
+        }
+    }
+
+    private void handle(Socket client) throws IOException {
+        List<String> args = readRequest(client.getInputStream());
+        PrintStream out = new PrintStream(client.getOutputStream(), true, UTF_8);
+        int exitCode = build(args, out);
+        out.println(EXIT_CODE_PREFIX + exitCode);
+    }
+
+    private int build(List<String> args, PrintStream out) {
+        PrintStream stdout = System.out;
+        System.setOut(out);
+        try {
+            long startTime = nanoTime();
+            MicroconfigParams params = MicroconfigParams.parse(args.toArray(new String[0]));
+            MicroconfigRunner runner = warmMicroconfig.runnerFor(
+                    params.rootDir(),
+                    new File(params.destinationDir()),
+                    !params.isSingleEnvBuild(),
+                    params.sourceLocations()
+            );
+            fromParams(params).buildWith(runner);
+            announce("Daemon build finished in " + NANOSECONDS.toMillis(nanoTime() - startTime) + "ms");
+            return 0;
+        } catch (RuntimeException e) {
+            if (e.getMessage() == null) {
+                error(e);
+            } else {
+                error(e.getMessage());
+            }
+            return -1;
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+}
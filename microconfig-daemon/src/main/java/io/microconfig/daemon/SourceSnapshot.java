@@ -0,0 +1,117 @@
+package io.microconfig.daemon;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystemLoopException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.microconfig.core.configtypes.CustomConfigTypeRepository.DESCRIPTOR;
+import static io.microconfig.core.environments.repository.FileEnvironmentRepository.ENV_DIR;
+import static io.microconfig.core.properties.repository.ComponentGraphImpl.COMPONENTS_DIR;
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.file.FileVisitOption.FOLLOW_LINKS;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static lombok.AccessLevel.PRIVATE;
+
+@RequiredArgsConstructor(access = PRIVATE)
+class SourceSnapshot {
+    private final File descriptor;
+    private final Map<File, FileState> files;
+    private final Set<File> folders;
+
+    static SourceSnapshot takeOf(File rootDir) {
+        Map<File, FileState> files = new HashMap<>();
+        Set<File> folders = new HashSet<>();
+        walk(new File(rootDir, COMPONENTS_DIR), files, folders);
+        walk(new File(rootDir, ENV_DIR), files, folders);
+
+        File descriptor = new File(rootDir, DESCRIPTOR);
+        if (descriptor.isFile()) {
+            files.put(descriptor, new FileState(descriptor.lastModified(), descriptor.length()));
+        }
+        return new SourceSnapshot(descriptor, files, folders);
+    }
+
+    /**
+     * Follows symlinks like the components dir walk does, so changes behind a linked folder are noticed.
+     */
+    private static void walk(File dir, Map<File, FileState> files, Set<File> folders) {
+        if (!dir.isDirectory()) return;
+
+        try {
+            Files.walkFileTree(dir.toPath(), EnumSet.of(FOLLOW_LINKS), MAX_VALUE, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path path, BasicFileAttributes attrs) {
+                    folders.add(path.toFile());
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path path, BasicFileAttributes attrs) {
+                    files.put(path.toFile(), new FileState(attrs.lastModifiedTime().toMillis(), attrs.size()));
+                    return CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path path, IOException e) throws IOException {
+                    if (!(e instanceof FileSystemLoopException)) throw e;
+                    return CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't walk " + dir, e);
+        }
+    }
+
+    SourceChanges changesSince(SourceSnapshot previous) {
+        Set<File> changedFiles = new HashSet<>();
+        files.forEach((file, state) -> {
+            if (!state.equals(previous.files.get(file))) {
+                changedFiles.add(file);
+            }
+        });
+        previous.files.keySet().stream()
+                .filter(file -> !files.containsKey(file))
+                .forEach(changedFiles::add);
+
+        return new SourceChanges(
+                changedFiles,
+                !folders.equals(previous.folders),
+                changedFiles.contains(descriptor)
+        );
+    }
+
+    @Value
+    static class SourceChanges {
+        Set<File> changedFiles;
+        boolean foldersChanged;
+        boolean descriptorChanged;
+
+        boolean requireReload() {
+            return foldersChanged || descriptorChanged;
+        }
+
+        boolean isEmpty() {
+            return changedFiles.isEmpty() && !foldersChanged;
+        }
+    }
+
+    @Value
+    private static class FileState {
+        long lastModified;
+        long size;
+    }
+}
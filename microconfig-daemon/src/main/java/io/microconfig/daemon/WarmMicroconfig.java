@@ -0,0 +1,61 @@
+package io.microconfig.daemon;
+
+import io.microconfig.core.MicroconfigRunner;
+import io.microconfig.daemon.SourceSnapshot.SourceChanges;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+
+import java.io.File;
+
+import static io.microconfig.daemon.SourceSnapshot.takeOf;
+import static io.microconfig.utils.FileUtils.canonical;
+import static io.microconfig.utils.Logger.announce;
+
+@RequiredArgsConstructor
+class WarmMicroconfig {
+    //0 for unlimited caches
+    private final long cacheLimit;
+    private BuildKey key;
+    private MicroconfigRunner runner;
+    private SourceSnapshot snapshot;
+
+    MicroconfigRunner runnerFor(File rootDir, File destinationDir, boolean destinationDirPerEnv, boolean sourceLocations) {
+        BuildKey requested = new BuildKey(canonical(rootDir), destinationDir.getAbsoluteFile(), destinationDirPerEnv, sourceLocations);
+        SourceSnapshot current = takeOf(requested.getRootDir());
+        if (runner == null || !requested.equals(key)) {
+            return load(requested, current);
+        }
+
+        SourceChanges changes = current.changesSince(snapshot);
+        if (changes.requireReload()) {
+            announce("Component folders or config types changed, reloading " + rootDir);
+            return load(requested, current);
+        }
+        if (!changes.isEmpty()) {
+            announce("Invalidating caches for " + changes.getChangedFiles().size() + " changed file(s)");
+            runner.getMicroconfig().invalidate(changes.getChangedFiles());
+        }
+        snapshot = current;
+        return runner;
+    }
+
+    private MicroconfigRunner load(BuildKey requested, SourceSnapshot current) {
+        MicroconfigRunner loaded = new MicroconfigRunner(requested.getRootDir(), requested.getDestinationDir(), requested.isDestinationDirPerEnv())
+                .withSourceLocations(requested.isSourceLocations());
+        if (cacheLimit > 0) {
+            loaded = loaded.withCacheLimit(cacheLimit);
+        }
+        this.key = requested;
+        this.runner = loaded;
+        this.snapshot = current;
+        return loaded;
+    }
+
+    @Value
+    private static class BuildKey {
+        File rootDir;
+        File destinationDir;
+        boolean destinationDirPerEnv;
+        boolean sourceLocations;
+    }
+}
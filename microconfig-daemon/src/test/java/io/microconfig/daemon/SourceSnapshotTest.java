@@ -0,0 +1,88 @@
+package io.microconfig.daemon;
+
+import io.microconfig.daemon.SourceSnapshot.SourceChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+
+import static io.microconfig.daemon.SourceSnapshot.takeOf;
+import static io.microconfig.utils.FileUtils.write;
+import static java.nio.file.Files.createSymbolicLink;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SourceSnapshotTest {
+    @TempDir
+    File root;
+
+    File config;
+    File env;
+
+    @BeforeEach
+    void setup() {
+        config = new File(root, "components/app/application.yaml");
+        env = new File(root, "envs/dev.yaml");
+        write(config, "key: value");
+        write(env, "group: {}");
+    }
+
+    @Test
+    void noChanges() {
+        assertTrue(takeOf(root).changesSince(takeOf(root)).isEmpty());
+    }
+
+    @Test
+    void changedFile() {
+        SourceSnapshot before = takeOf(root);
+        write(config, "key: changed value");
+
+        SourceChanges changes = takeOf(root).changesSince(before);
+        assertEquals(singleton(config), changes.getChangedFiles());
+        assertFalse(changes.requireReload());
+    }
+
+    @Test
+    void removedFile() {
+        SourceSnapshot before = takeOf(root);
+        assertTrue(env.delete());
+
+        SourceChanges changes = takeOf(root).changesSince(before);
+        assertEquals(singleton(env), changes.getChangedFiles());
+        assertFalse(changes.requireReload());
+    }
+
+    @Test
+    void newFolder() {
+        SourceSnapshot before = takeOf(root);
+        write(new File(root, "components/app2/application.yaml"), "key: value");
+
+        assertTrue(takeOf(root).changesSince(before).requireReload());
+    }
+
+    @Test
+    void changedFileBehindSymlink() throws IOException {
+        File linked = new File(root, "shared/lib/application.yaml");
+        write(linked, "key: value");
+        createSymbolicLink(new File(root, "components/lib").toPath(), linked.getParentFile().toPath());
+        createSymbolicLink(new File(root, "components/app/loop").toPath(), config.getParentFile().toPath());
+        SourceSnapshot before = takeOf(root);
+        write(linked, "key: changed value");
+
+        SourceChanges changes = takeOf(root).changesSince(before);
+        assertEquals(singleton(new File(root, "components/lib/application.yaml")), changes.getChangedFiles());
+        assertFalse(changes.requireReload());
+    }
+
+    @Test
+    void changedDescriptor() {
+        SourceSnapshot before = takeOf(root);
+        write(new File(root, "microconfig.yaml"), "configTypes: []");
+
+        assertTrue(takeOf(root).changesSince(before).requireReload());
+    }
+}
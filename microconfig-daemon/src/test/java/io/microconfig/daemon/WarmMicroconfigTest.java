@@ -0,0 +1,54 @@
+package io.microconfig.daemon;
+
+import io.microconfig.core.MicroconfigRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtils.readFully;
+import static java.util.Collections.emptyList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WarmMicroconfigTest {
+    @TempDir
+    File root;
+    @TempDir
+    File destinationDir;
+
+    WarmMicroconfig warm = new WarmMicroconfig(0);
+
+    @Test
+    void rebuildsChangedFilesWithSameRunner() {
+        File config = new File(root, "components/app/application.properties");
+        File result = new File(destinationDir, "app/application.properties");
+        write(config, "key=value");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - app");
+
+        MicroconfigRunner runner = runnerFor();
+        runner.build("dev", emptyList(), emptyList());
+        assertEquals("key=value", readFully(result).trim());
+
+        write(config, "key=changed value");
+        assertSame(runner, runnerFor());
+        runner.build("dev", emptyList(), emptyList());
+        assertEquals("key=changed value", readFully(result).trim());
+    }
+
+    @Test
+    void reloadsOnNewFolder() {
+        write(new File(root, "components/app/application.properties"), "key=value");
+        write(new File(root, "envs/dev.yaml"), "apps:\n  components:\n    - app");
+        MicroconfigRunner runner = runnerFor();
+
+        write(new File(root, "components/other/application.properties"), "key=value");
+        assertNotSame(runner, runnerFor());
+    }
+
+    private MicroconfigRunner runnerFor() {
+        return warm.runnerFor(root, destinationDir, false, true);
+    }
+}
@@ -0,0 +1,301 @@
+package io.microconfig.io;
+
+import io.microconfig.utils.CacheBudget;
+import io.microconfig.utils.CacheBudget.Candidate;
+import io.microconfig.utils.CacheBudget.Evictable;
+import io.microconfig.utils.IoUtils;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static java.lang.Math.min;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Reads each file once and serves all later reads of it from memory.
+ * Call {@link #invalidate} for files changed since they were read.
+ * Files are charged to a {@link CacheBudget}, and the least recently read are dropped when it's exceeded.
+ */
+public class CachingFsReader implements FsReader, Evictable {
+    private static final int PREFETCH_THREADS = min(16, 2 * Runtime.getRuntime().availableProcessors());
+
+    private final CacheBudget budget;
+    private final Map<File, CachedFile> files = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder prefetched = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private volatile ExecutorService prefetchPool;
+
+    public CachingFsReader() {
+        this(CacheBudget.unlimited());
+    }
+
+    public CachingFsReader(CacheBudget budget) {
+        this.budget = budget;
+        budget.register(this);
+    }
+
+    @Override
+    public String readFully(File file) {
+        return cached(file).content();
+    }
+
+    @Override
+    public List<String> readLines(File file) {
+        if (!file.exists()) return emptyList();
+
+        return cached(file).lines();
+    }
+
+    @Override
+    public TextBuffer readText(File file) {
+        if (!file.exists()) return TextBuffer.ofLines(emptyList());
+
+        return cached(file).text();
+    }
+
+    @Override
+    public byte[] readBytes(File file) {
+        return cached(file).bytes;
+    }
+
+    @Override
+    public Optional<String> firstLineOf(File file, Predicate<String> predicate) {
+        return cached(file).lines().stream()
+                .filter(predicate)
+                .findFirst();
+    }
+
+    /**
+     * Reads and splits the file on a background thread, so a later read finds it in memory.
+     * Errors are ignored here and reported by the read itself.
+     */
+    @Override
+    public void prefetch(File file) {
+        CachedFile cached = files.computeIfAbsent(file, CachedFile::new);
+        if (cached.isLoaded()) return;
+
+        pool().execute(() -> {
+            try {
+                cached.load(prefetched);
+                cached.text();
+            } catch (RuntimeException ignore) {
+            }
+        });
+    }
+
+    public void invalidate(Collection<File> changedFiles) {
+        changedFiles.forEach(file -> {
+            CachedFile cached = files.get(file);
+            if (cached != null) {
+                remove(cached);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        files.values().forEach(this::remove);
+    }
+
+    @Override
+    public void collectEvictionCandidates(List<Candidate> candidates) {
+        files.values().forEach(f -> {
+            if (f.isCharged()) {
+                candidates.add(new Candidate(f.lastUsed, () -> remove(f)));
+            }
+        });
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long prefetched() {
+        return prefetched.sum();
+    }
+
+    public long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "file reads: " + hits() + " cached (" + prefetched() + " prefetched), " + misses() + " from disk (" + bytesRead() / 1024 + " KB)";
+    }
+
+    private CachedFile cached(File file) {
+        CachedFile cached = files.computeIfAbsent(file, CachedFile::new);
+        if (!cached.load(misses)) {
+            hits.increment();
+            cached.touch();
+        }
+        return cached;
+    }
+
+    private void remove(CachedFile cached) {
+        if (files.remove(cached.file, cached)) {
+            cached.discard();
+        }
+    }
+
+    private ExecutorService pool() {
+        if (prefetchPool == null) {
+            synchronized (this) {
+                if (prefetchPool == null) {
+                    prefetchPool = newPrefetchPool();
+                }
+            }
+        }
+        return prefetchPool;
+    }
+
+    private static ExecutorService newPrefetchPool() {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(PREFETCH_THREADS, PREFETCH_THREADS, 5, SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "microconfig-prefetch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private class CachedFile {
+        private final File file;
+        private volatile byte[] bytes;
+        private volatile String content;
+        private volatile TextBuffer text;
+        private volatile boolean linesCharged;
+        private volatile long lastUsed = budget.now();
+        //sum of charged sizes, -1 after removal
+        private long weight;
+
+        private CachedFile(File file) {
+            this.file = file;
+        }
+
+        private void touch() {
+            long now = budget.now();
+            if (lastUsed != now) {
+                lastUsed = now;
+            }
+        }
+
+        private boolean isLoaded() {
+            return bytes != null;
+        }
+
+        /**
+         * @return true if this call read the file, false if it was already in memory.
+         * A concurrent caller waits for the read in progress instead of repeating it.
+         */
+        private boolean load(LongAdder readCounter) {
+            if (bytes != null) return false;
+
+            byte[] read;
+            synchronized (this) {
+                if (bytes != null) return false;
+
+                read = IoUtils.readAllBytes(file);
+                bytesRead.add(read.length);
+                readCounter.increment();
+                bytes = read;
+            }
+            charge(64 + read.length);
+            return true;
+        }
+
+        private synchronized boolean isCharged() {
+            return weight > 0;
+        }
+
+        //each form of the content is charged when it is created.
+        //The budget is called outside of the lock, it may evict other files
+        private void charge(long size) {
+            synchronized (this) {
+                if (weight < 0) return;
+                weight += size;
+            }
+            budget.charge(size);
+            if (files.get(file) != this) {
+                discard();
+            }
+        }
+
+        private void discard() {
+            long charged;
+            synchronized (this) {
+                charged = weight;
+                weight = -1;
+            }
+            if (charged > 0) {
+                budget.release(charged);
+            }
+        }
+
+        //the same charsets as DumpedFsReader uses
+        private String content() {
+            if (content == null) {
+                String created = null;
+                synchronized (this) {
+                    if (content == null) {
+                        content = created = new String(bytes, Charset.defaultCharset());
+                    }
+                }
+                if (created != null) {
+                    charge(40 + 2L * created.length());
+                }
+            }
+            return content;
+        }
+
+        private TextBuffer text() {
+            if (text == null) {
+                TextBuffer created = null;
+                synchronized (this) {
+                    if (text == null) {
+                        text = created = TextBuffer.decode(ByteBuffer.wrap(bytes));
+                    }
+                }
+                if (created != null) {
+                    charge(created.retainedBytes());
+                }
+            }
+            return text;
+        }
+
+        //callers read all lines, so they are charged as strings up front
+        private List<String> lines() {
+            TextBuffer buffer = text();
+            if (!linesCharged) {
+                boolean first;
+                synchronized (this) {
+                    first = !linesCharged;
+                    linesCharged = true;
+                }
+                if (first) {
+                    charge(16 + 48L * buffer.lineCount() + 2L * buffer.length());
+                }
+            }
+            return buffer.lines();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.microconfig.io;
 
+import io.microconfig.utils.IoUtils;
+
 import java.io.File;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,24 @@ public interface FsReader {
     List<String> readLines(File file);
 
     Optional<String> firstLineOf(File file, Predicate<String> predicate);
+
+    /**
+     * The same lines as {@link #readLines} returns, as a single buffer.
+     */
+    default TextBuffer readText(File file) {
+        return TextBuffer.ofLines(readLines(file));
+    }
+
+    /**
+     * Raw content of the file, e.g. to hash the same bytes a parser reads. The array must not be modified.
+     */
+    default byte[] readBytes(File file) {
+        return IoUtils.readAllBytes(file);
+    }
+
+    /**
+     * Hint that the file is going to be read soon.
+     */
+    default void prefetch(File file) {
+    }
 }
\ No newline at end of file
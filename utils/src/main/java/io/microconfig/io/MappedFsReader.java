@@ -0,0 +1,78 @@
+package io.microconfig.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+
+/**
+ * Reads small files into a reusable direct buffer and maps large ones.
+ * {@link #readLines} returns lines backed by a single {@link TextBuffer},
+ * so a {@code String} is created only for a line that is actually read.
+ */
+public class MappedFsReader implements FsReader {
+    private static final int MAP_THRESHOLD = 256 * 1024;
+    private static final ThreadLocal<ByteBuffer> bytePool = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(MAP_THRESHOLD));
+
+    @Override
+    public String readFully(File file) {
+        return withBytes(file, bytes -> Charset.defaultCharset().decode(bytes).toString());
+    }
+
+    @Override
+    public List<String> readLines(File file) {
+        if (!file.exists()) return emptyList();
+
+        return withBytes(file, TextBuffer::decode).lines();
+    }
+
+    @Override
+    public TextBuffer readText(File file) {
+        if (!file.exists()) return TextBuffer.ofLines(emptyList());
+
+        return withBytes(file, TextBuffer::decode);
+    }
+
+    @Override
+    public Optional<String> firstLineOf(File file, Predicate<String> predicate) {
+        return withBytes(file, bytes -> TextBuffer.scanLines(bytes, text -> {
+            for (int i = 0; i < text.lineCount(); i++) {
+                String line = text.substring(text.lineStart(i), text.lineEnd(i));
+                if (predicate.test(line)) return of(line);
+            }
+            return empty();
+        }));
+    }
+
+    private <T> T withBytes(File file, Function<ByteBuffer, T> reader) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            long size = channel.size();
+            if (size > MAP_THRESHOLD) {
+                return reader.apply(channel.map(READ_ONLY, 0, size));
+            }
+
+            ByteBuffer buffer = bytePool.get();
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read > 0 && buffer.hasRemaining());
+            buffer.flip();
+            return reader.apply(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package io.microconfig.io;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Decoded file content with line boundaries kept as offsets.
+ * A line becomes a {@code String} only when it is asked for.
+ * Line terminators are the ones of {@code BufferedReader.readLine()}.
+ */
+public class TextBuffer implements CharSequence {
+    private static final ThreadLocal<CharBuffer> charPool = ThreadLocal.withInitial(() -> CharBuffer.allocate(8 * 1024));
+
+    private final char[] chars;
+    private final int length;
+    //start and end (exclusive, without terminator) of each line
+    private final int[] bounds;
+    private final int lineCount;
+    private volatile String[] materialized;
+
+    private TextBuffer(char[] chars, int length, int[] bounds, int lineCount) {
+        this.chars = chars;
+        this.length = length;
+        this.bounds = bounds;
+        this.lineCount = lineCount;
+    }
+
+    public static TextBuffer decode(ByteBuffer utf8) {
+        CharBuffer decoded = decodeToPool(utf8);
+        char[] chars = Arrays.copyOf(decoded.array(), decoded.limit());
+        int[] bounds = lineBounds(chars, chars.length);
+        return new TextBuffer(chars, chars.length, bounds, bounds.length / 2);
+    }
+
+    public static TextBuffer of(String text) {
+        char[] chars = text.toCharArray();
+        int[] bounds = lineBounds(chars, chars.length);
+        return new TextBuffer(chars, chars.length, bounds, bounds.length / 2);
+    }
+
+    public static TextBuffer ofLines(List<String> lines) {
+        int length = 0;
+        for (String line : lines) {
+            length += line.length() + 1;
+        }
+        char[] chars = new char[length];
+        int[] bounds = new int[lines.size() * 2];
+        int position = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            line.getChars(0, line.length(), chars, position);
+            bounds[i * 2] = position;
+            bounds[i * 2 + 1] = position += line.length();
+            chars[position++] = '\n';
+        }
+        return new TextBuffer(chars, length, bounds, lines.size());
+    }
+
+    /**
+     * Visits lines of {@code utf8} without copying the decoded chars.
+     * The passed buffer is valid only until the visitor returns.
+     */
+    static <T> T scanLines(ByteBuffer utf8, LineVisitor<T> visitor) {
+        CharBuffer decoded = decodeToPool(utf8);
+        char[] chars = decoded.array();
+        int[] bounds = lineBounds(chars, decoded.limit());
+        return visitor.visit(new TextBuffer(chars, decoded.limit(), bounds, bounds.length / 2));
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Estimated heap size of the chars and line bounds. Lines turned into strings are not counted.
+     */
+    public long retainedBytes() {
+        return 48 + 2L * chars.length + 4L * bounds.length;
+    }
+
+    public int lineStart(int line) {
+        return bounds[checkLine(line) * 2];
+    }
+
+    public int lineEnd(int line) {
+        return bounds[checkLine(line) * 2 + 1];
+    }
+
+    public int lineLength(int line) {
+        return lineEnd(line) - lineStart(line);
+    }
+
+    public String line(int line) {
+        String[] cache = materialized;
+        if (cache == null) {
+            materialized = cache = new String[lineCount];
+        }
+        String result = cache[checkLine(line)];
+        if (result == null) {
+            cache[line] = result = new String(chars, lineStart(line), lineEnd(line) - lineStart(line));
+        }
+        return result;
+    }
+
+    public List<String> lines() {
+        return new Lines();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + ", length " + length);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    public String substring(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + "), length " + length);
+        }
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Line " + line + ", line count " + lineCount);
+        }
+        return line;
+    }
+
+    private static CharBuffer decodeToPool(ByteBuffer utf8) {
+        CharsetDecoder decoder = UTF_8.newDecoder();
+        int capacity = (int) (utf8.remaining() * (double) decoder.maxCharsPerByte());
+        CharBuffer chars = charPool.get();
+        if (chars.capacity() < capacity) {
+            chars = CharBuffer.allocate(capacity);
+            charPool.set(chars);
+        }
+        chars.clear();
+        try {
+            CoderResult result = decoder.decode(utf8, chars, true);
+            if (result.isUnderflow()) {
+                result = decoder.flush(chars);
+            }
+            if (!result.isUnderflow()) {
+                result.throwException();
+            }
+        } catch (CharacterCodingException e) {
+            throw new UncheckedIOException(e);
+        }
+        chars.flip();
+        return chars;
+    }
+
+    private static int[] lineBounds(char[] chars, int length) {
+        int[] bounds = new int[32];
+        int count = 0;
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            if (c != '\n' && c != '\r') continue;
+
+            bounds = add(bounds, count++, start, i);
+            if (c == '\r' && i + 1 < length && chars[i + 1] == '\n') {
+                ++i;
+            }
+            start = i + 1;
+        }
+        if (start < length) {
+            bounds = add(bounds, count++, start, length);
+        }
+        return Arrays.copyOf(bounds, count * 2);
+    }
+
+    private static int[] add(int[] bounds, int line, int start, int end) {
+        if (line * 2 + 1 >= bounds.length) {
+            bounds = Arrays.copyOf(bounds, bounds.length * 2);
+        }
+        bounds[line * 2] = start;
+        bounds[line * 2 + 1] = end;
+        return bounds;
+    }
+
+    interface LineVisitor<T> {
+        T visit(TextBuffer text);
+    }
+
+    private class Lines extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return line(index);
+        }
+
+        @Override
+        public int size() {
+            return lineCount;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.microconfig.utils;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Comparator.comparingLong;
+
+/**
+ * Limit on memory retained by the caches sharing this budget. Sizes are estimates in bytes.
+ * When the limit is exceeded, least recently used entries of all registered caches are evicted
+ * until a quarter of the limit is free.
+ */
+public class CacheBudget {
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private final List<Evictable> caches = new CopyOnWriteArrayList<>();
+
+    public CacheBudget(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive, got " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public static CacheBudget unlimited() {
+        return new CacheBudget(Long.MAX_VALUE);
+    }
+
+    public void register(Evictable cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * Time for least recently used order. It advances on each charge, so reading it is cheap.
+     */
+    public long now() {
+        return clock.get();
+    }
+
+    public void charge(long bytes) {
+        clock.incrementAndGet();
+        if (usedBytes.addAndGet(bytes) > maxBytes) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    public void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    public boolean isLimited() {
+        return maxBytes != Long.MAX_VALUE;
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        String limit = isLimited() ? " of " + maxBytes / 1024 + " KB" : "";
+        return "cache budget: " + usedBytes() / 1024 + " KB" + limit + " used, " + evictions() + " evictions";
+    }
+
+    private synchronized void evictLeastRecentlyUsed() {
+        if (usedBytes.get() <= maxBytes) return;
+
+        List<Candidate> candidates = new ArrayList<>();
+        caches.forEach(c -> c.collectEvictionCandidates(candidates));
+        candidates.sort(comparingLong(c -> c.lastUsed));
+
+        long target = maxBytes - maxBytes / 4;
+        for (Candidate candidate : candidates) {
+            if (usedBytes.get() <= target) break;
+
+            candidate.evict.run();
+            evictions.increment();
+        }
+    }
+
+    public interface Evictable {
+        void collectEvictionCandidates(List<Candidate> candidates);
+    }
+
+    @RequiredArgsConstructor
+    public static class Candidate {
+        private final long lastUsed;
+        private final Runnable evict;
+    }
+}
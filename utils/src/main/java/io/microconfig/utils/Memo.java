@@ -0,0 +1,258 @@
+package io.microconfig.utils;
+
+import io.microconfig.utils.CacheBudget.Candidate;
+import io.microconfig.utils.CacheBudget.Evictable;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Caches results of one function by its argument.
+ * A value is loaded once: concurrent callers wait for the load in progress instead of repeating it,
+ * also when they call from inside loads of their own.
+ * A caller doesn't wait if the load in progress waits for it, directly or through loads of other threads:
+ * it loads the value without caching it, so recursive and cyclic loads can't deadlock.
+ * Loaders must not block on other threads for anything else that may need the value being loaded.
+ * Failed loads and null results aren't cached.
+ * <p>
+ * Each value is charged to a {@link CacheBudget} with its estimated size, and may be evicted when the budget is exceeded.
+ */
+public class Memo<K, V> implements Evictable {
+    public static final long DEFAULT_WEIGHT = 128;
+    //entries that threads are blocked on, to find loads waiting for each other
+    private static final ConcurrentMap<Thread, Memo<?, ?>.Entry> waitingFor = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String name;
+    private final CacheBudget budget;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final ConcurrentMap<K, Entry> values = new ConcurrentHashMap<>(256);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    public Memo(String name) {
+        this(name, CacheBudget.unlimited(), (k, v) -> DEFAULT_WEIGHT);
+    }
+
+    public Memo(String name, CacheBudget budget, ToLongBiFunction<? super K, ? super V> weigher) {
+        this.name = name;
+        this.budget = budget;
+        this.weigher = weigher;
+        budget.register(this);
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry cached = values.get(key);
+        if (cached == null) {
+            Entry loading = new Entry(key);
+            cached = values.putIfAbsent(key, loading);
+            if (cached == null) return load(loading, loader);
+        }
+        if (!cached.isDone()) return awaitLoading(cached, loader);
+
+        hits.increment();
+        cached.touch();
+        return await(cached);
+    }
+
+    /**
+     * @return null if the value isn't loaded yet
+     */
+    public V getIfLoaded(K key) {
+        Entry cached = values.get(key);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) return null;
+
+        hits.increment();
+        cached.touch();
+        return cached.join();
+    }
+
+    public void invalidate(K key) {
+        Entry cached = values.get(key);
+        if (cached != null) {
+            remove(cached);
+        }
+    }
+
+    public void invalidate() {
+        values.values().forEach(this::remove);
+    }
+
+    /**
+     * Removes loaded values matching the filter. Values that are still loading are removed as well.
+     */
+    public void invalidateIf(BiPredicate<? super K, ? super V> filter) {
+        values.values().forEach(e -> {
+            if (!e.isDone() || e.isCompletedExceptionally() || filter.test(e.key, e.join())) {
+                remove(e);
+            }
+        });
+    }
+
+    @Override
+    public void collectEvictionCandidates(List<Candidate> candidates) {
+        values.values().forEach(e -> {
+            if (e.isCharged()) {
+                candidates.add(new Candidate(e.lastUsed, () -> remove(e)));
+            }
+        });
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Includes time of nested loads.
+     */
+    public long loadMillis() {
+        return NANOSECONDS.toMillis(loadNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + hits() + " hits, " + misses() + " misses, " + loadMillis() + " ms loading";
+    }
+
+    private V load(Entry loading, Function<? super K, ? extends V> loader) {
+        misses.increment();
+        try {
+            V value = timedLoad(loading.key, loader);
+            loading.complete(value);
+            if (value == null) {
+                remove(loading);
+            } else {
+                loading.charge(weigher.applyAsLong(loading.key, value));
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            remove(loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private V awaitLoading(Entry loading, Function<? super K, ? extends V> loader) {
+        Thread current = currentThread();
+        //registered before the check, so of two threads waiting for each other at least one sees the cycle
+        waitingFor.put(current, loading);
+        if (waitsFor(loading, current)) {
+            waitingFor.remove(current);
+            misses.increment();
+            return timedLoad(loading.key, loader);
+        }
+
+        try {
+            hits.increment();
+            loading.touch();
+            return await(loading);
+        } finally {
+            waitingFor.remove(current);
+        }
+    }
+
+    //follows owners of the loads in progress and entries they are blocked on
+    private static boolean waitsFor(Memo<?, ?>.Entry loading, Thread thread) {
+        Memo<?, ?>.Entry entry = loading;
+        for (int i = 0; i <= waitingFor.size() && entry != null && !entry.isDone(); i++) {
+            if (entry.owner == thread) return true;
+            entry = waitingFor.get(entry.owner);
+        }
+        return false;
+    }
+
+    private V timedLoad(K key, Function<? super K, ? extends V> loader) {
+        long start = nanoTime();
+        try {
+            return loader.apply(key);
+        } finally {
+            loadNanos.add(nanoTime() - start);
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (values.remove(entry.key, entry)) {
+            entry.discard();
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private class Entry extends CompletableFuture<V> {
+        private final K key;
+        private final Thread owner = currentThread();
+        private volatile long lastUsed = budget.now();
+        //0 until charged, -1 after removal
+        private long weight;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        private void touch() {
+            long now = budget.now();
+            if (lastUsed != now) {
+                lastUsed = now;
+            }
+        }
+
+        private synchronized boolean isCharged() {
+            return weight > 0;
+        }
+
+        //the budget is called outside of the lock, it may evict other entries
+        private void charge(long bytes) {
+            long charged = max(1, bytes);
+            synchronized (this) {
+                if (weight != 0) return;
+                weight = charged;
+            }
+            budget.charge(charged);
+            if (values.get(key) != this) {
+                discard();
+            }
+        }
+
+        private void discard() {
+            long charged;
+            synchronized (this) {
+                charged = weight;
+                weight = -1;
+            }
+            if (charged > 0) {
+                budget.release(charged);
+            }
+        }
+    }
+}
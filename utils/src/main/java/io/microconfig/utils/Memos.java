@@ -0,0 +1,46 @@
+package io.microconfig.utils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToLongBiFunction;
+
+import static io.microconfig.utils.Memo.DEFAULT_WEIGHT;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Memos invalidated together and charged to one budget.
+ */
+@RequiredArgsConstructor
+public class Memos {
+    @Getter
+    private final CacheBudget budget;
+    private final List<Memo<?, ?>> memos = new CopyOnWriteArrayList<>();
+
+    public Memos() {
+        this(CacheBudget.unlimited());
+    }
+
+    public <K, V> Memo<K, V> newMemo(String name) {
+        return newMemo(name, (k, v) -> DEFAULT_WEIGHT);
+    }
+
+    public <K, V> Memo<K, V> newMemo(String name, ToLongBiFunction<? super K, ? super V> weigher) {
+        Memo<K, V> memo = new Memo<>(name, budget, weigher);
+        memos.add(memo);
+        return memo;
+    }
+
+    public void invalidate() {
+        memos.forEach(Memo::invalidate);
+    }
+
+    @Override
+    public String toString() {
+        return memos.stream()
+                .map(Memo::toString)
+                .collect(joining("\n"));
+    }
+}
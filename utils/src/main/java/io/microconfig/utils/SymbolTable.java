@@ -0,0 +1,84 @@
+package io.microconfig.utils;
+
+import io.microconfig.utils.CacheBudget.Candidate;
+import io.microconfig.utils.CacheBudget.Evictable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dedups names that repeat across the build (property keys, components, environments, config types),
+ * so equal names share one instance and equals() returns on the identity check.
+ * Unlike String.intern() the table belongs to one build setup and is charged to its {@link CacheBudget}.
+ * The budget evicts the table as a whole: dropping it only loses sharing with names created later.
+ */
+public class SymbolTable implements Evictable {
+    private static final SymbolTable NO_SYMBOLS = new SymbolTable(null);
+
+    private final CacheBudget budget;
+    private final Map<String, String> symbols = new ConcurrentHashMap<>(1 << 12);
+    private final AtomicLong chargedBytes = new AtomicLong();
+    private volatile long lastUsed;
+
+    public SymbolTable() {
+        this(CacheBudget.unlimited());
+    }
+
+    public SymbolTable(CacheBudget budget) {
+        this.budget = budget;
+        if (budget != null) {
+            budget.register(this);
+        }
+    }
+
+    /**
+     * @return a table that returns names as is, for names read outside of a build
+     */
+    public static SymbolTable noSymbols() {
+        return NO_SYMBOLS;
+    }
+
+    public String symbol(String name) {
+        if (name == null || budget == null) return name;
+
+        String existing = symbols.get(name);
+        if (existing != null) return existing;
+
+        existing = symbols.putIfAbsent(name, name);
+        if (existing != null) return existing;
+
+        charge(weightOf(name));
+        return name;
+    }
+
+    public int size() {
+        return symbols.size();
+    }
+
+    public void clear() {
+        symbols.clear();
+        if (budget != null) {
+            budget.release(chargedBytes.getAndSet(0));
+        }
+    }
+
+    @Override
+    public void collectEvictionCandidates(List<Candidate> candidates) {
+        if (!symbols.isEmpty()) {
+            candidates.add(new Candidate(lastUsed, this::clear));
+        }
+    }
+
+    private void charge(long bytes) {
+        chargedBytes.addAndGet(bytes);
+        lastUsed = budget.now();
+        budget.charge(bytes);
+    }
+
+    //map node and String with its array
+    private static long weightOf(String name) {
+        return 80 + 2L * name.length();
+    }
+}
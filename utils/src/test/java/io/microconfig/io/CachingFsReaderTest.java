@@ -0,0 +1,114 @@
+package io.microconfig.io;
+
+import io.microconfig.utils.CacheBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtilsTest.resourceFile;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.nCopies;
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingFsReaderTest {
+    CachingFsReader reader = new CachingFsReader();
+
+    @Test
+    void readsFileOnce() {
+        String expected = "k1:" + LINES_SEPARATOR +
+                "  k2: v2";
+        assertEquals(expected, reader.readFully(resourceFile()));
+        assertEquals(asList("k1:", "  k2: v2"), reader.readLines(resourceFile()));
+        assertEquals(of("  k2: v2"), reader.firstLineOf(resourceFile(), s -> s.contains("k2")));
+        assertEquals(empty(), reader.firstLineOf(resourceFile(), s -> s.contains("eeee")));
+
+        assertEquals(1, reader.misses());
+        assertEquals(3, reader.hits());
+        assertEquals(resourceFile().length(), reader.bytesRead());
+    }
+
+    @Test
+    void sameLinesAsDumpedReader(@TempDir File dir) {
+        File file = new File(dir, "lines");
+        write(file, "a\r\nb\rc\n\nd\n");
+        assertEquals(new DumpedFsReader().readLines(file), reader.readLines(file));
+        assertEquals(emptyList(), reader.readLines(new File(dir, "missing")));
+    }
+
+    @Test
+    void invalidate(@TempDir File dir) {
+        File file = new File(dir, "file");
+        write(file, "v1");
+        assertEquals("v1", reader.readFully(file));
+        write(file, "v2");
+        assertEquals("v1", reader.readFully(file));
+
+        reader.invalidate(singletonList(file));
+        assertEquals("v2", reader.readFully(file));
+    }
+
+    @Test
+    void prefetchReadsFileOnce(@TempDir File dir) {
+        File file = new File(dir, "file");
+        write(file, "k: v");
+        reader.prefetch(file);
+        reader.prefetch(new File(dir, "missing"));
+
+        assertEquals(asList("k: v"), reader.readLines(file));
+        assertEquals(1, reader.misses() + reader.prefetched());
+        assertEquals(4, reader.bytesRead());
+    }
+
+    @Test
+    void evictsLeastRecentlyRead(@TempDir File dir) {
+        CacheBudget budget = new CacheBudget(2500);
+        CachingFsReader reader = new CachingFsReader(budget);
+        File a = fileOf200Bytes(dir, "a");
+        File b = fileOf200Bytes(dir, "b");
+        File c = fileOf200Bytes(dir, "c");
+        File d = fileOf200Bytes(dir, "d");
+
+        asList(a, b, c, a, d).forEach(reader::readFully);
+        assertEquals(4, reader.misses());
+        assertEquals(2, budget.evictions());
+
+        reader.readFully(a);
+        reader.readFully(d);
+        assertEquals(3, reader.hits());
+        reader.readFully(b);
+        assertEquals(5, reader.misses());
+    }
+
+    @Test
+    void chargesEachFormOfContentOnce(@TempDir File dir) {
+        CacheBudget budget = new CacheBudget(1 << 20);
+        CachingFsReader reader = new CachingFsReader(budget);
+        File file = fileOf200Bytes(dir, "a");
+
+        reader.readFully(file);
+        long withContent = budget.usedBytes();
+        reader.readLines(file);
+        long withLines = budget.usedBytes();
+        assertTrue(withLines > withContent);
+
+        reader.readLines(file);
+        reader.readFully(file);
+        assertEquals(withLines, budget.usedBytes());
+        reader.invalidateAll();
+        assertEquals(0, budget.usedBytes());
+    }
+
+    private File fileOf200Bytes(File dir, String name) {
+        File file = new File(dir, name);
+        write(file, String.join("", nCopies(200, "x")));
+        return file;
+    }
+}
@@ -0,0 +1,66 @@
+package io.microconfig.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+
+import static io.microconfig.utils.FileUtils.LINES_SEPARATOR;
+import static io.microconfig.utils.FileUtils.write;
+import static io.microconfig.utils.IoUtilsTest.resourceFile;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedFsReaderTest {
+    MappedFsReader reader = new MappedFsReader();
+
+    @Test
+    void readFully() {
+        String expected = "k1:" + LINES_SEPARATOR +
+                "  k2: v2";
+        assertEquals(expected, reader.readFully(resourceFile()));
+    }
+
+    @Test
+    void readLines(@TempDir File dir) {
+        assertEquals(asList("k1:", "  k2: v2"), reader.readLines(resourceFile()));
+
+        File file = new File(dir, "lines");
+        write(file, "a\r\nb\rc\n\nd\n");
+        assertEquals(new DumpedFsReader().readLines(file), reader.readLines(file));
+        assertEquals(emptyList(), reader.readLines(new File(dir, "missing")));
+    }
+
+    @Test
+    void firstLineOf() {
+        assertEquals(of("  k2: v2"), reader.firstLineOf(resourceFile(), s -> s.contains("k2")));
+        assertEquals(empty(), reader.firstLineOf(resourceFile(), s -> s.contains("eeee")));
+    }
+
+    @Test
+    void mapsLargeFiles(@TempDir File dir) {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 30_000; i++) {
+            content.append("key").append(i).append(": value").append(i).append('\n');
+        }
+        File file = new File(dir, "large.yaml");
+        write(file, content.toString());
+
+        TextBuffer text = reader.readText(file);
+        assertEquals(30_000, text.lineCount());
+        assertEquals("key29999: value29999", text.line(29_999));
+        assertSame(text.line(10), text.lines().get(10));
+        assertEquals(of("key12345: value12345"), reader.firstLineOf(file, s -> s.startsWith("key12345")));
+    }
+
+    @Test
+    void failsOnMissingFile(@TempDir File dir) {
+        assertThrows(UncheckedIOException.class, () -> reader.readFully(new File(dir, "missing")));
+    }
+}
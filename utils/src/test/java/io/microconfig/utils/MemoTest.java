@@ -0,0 +1,179 @@
+package io.microconfig.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.time.Duration.ofSeconds;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoTest {
+    Memo<String, Integer> memo = new Memo<>("test");
+    AtomicInteger loads = new AtomicInteger();
+    Function<String, Integer> loader = k -> loads.incrementAndGet();
+
+    @Test
+    void testCache() {
+        assertEquals(1, memo.get("a", loader));
+        assertEquals(1, memo.get("a", loader));
+        assertEquals(2, memo.get("b", loader));
+        assertEquals(1, memo.get("a", loader));
+
+        assertEquals(2, memo.misses());
+        assertEquals(2, memo.hits());
+        assertEquals("test: 2 hits, 2 misses, 0 ms loading", memo.toString().replaceAll("\\d+ ms", "0 ms"));
+    }
+
+    @Test
+    void testInvalidate() {
+        Memos memos = new Memos();
+        Memo<String, Integer> memo = memos.newMemo("test");
+        assertEquals(1, memo.get("a", loader));
+
+        memos.invalidate();
+        assertEquals(0, memo.size());
+        assertEquals(2, memo.get("a", loader));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        CacheBudget budget = new CacheBudget(1000);
+        Memo<String, Integer> memo = new Memo<>("test", budget, (k, v) -> 300);
+        memo.get("a", loader);
+        memo.get("b", loader);
+        memo.get("c", loader);
+        memo.get("a", loader);
+        memo.get("d", loader);
+
+        assertEquals(2, budget.evictions());
+        assertEquals(600, budget.usedBytes());
+        assertEquals(1, memo.getIfLoaded("a"));
+        assertNull(memo.getIfLoaded("b"));
+
+        memo.invalidate("a");
+        assertEquals(300, budget.usedBytes());
+    }
+
+    @Test
+    void failuresAndNullsAreNotCached() {
+        Function<String, Integer> failing = k -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException();
+        };
+        assertThrows(IllegalStateException.class, () -> memo.get("a", failing));
+        assertThrows(IllegalStateException.class, () -> memo.get("a", failing));
+        assertEquals(2, loads.get());
+
+        assertNull(memo.get("b", k -> null));
+        assertEquals(0, memo.size());
+    }
+
+    @Test
+    void recursiveLoad() {
+        Function<String, Integer> recursive = new Function<String, Integer>() {
+            @Override
+            public Integer apply(String k) {
+                return k.isEmpty() ? 0 : 1 + memo.get(k.substring(1), this);
+            }
+        };
+        assertEquals(3, memo.get("abc", recursive));
+        assertEquals(2, memo.get("bc", recursive));
+
+        AtomicInteger depth = new AtomicInteger();
+        Function<String, Integer> cyclic = new Function<String, Integer>() {
+            @Override
+            public Integer apply(String k) {
+                return depth.incrementAndGet() > 3 ? 0 : memo.get("cycle", this);
+            }
+        };
+        assertEquals(0, memo.get("cycle", cyclic));
+    }
+
+    @Test
+    void concurrentLoadsHappenOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, Integer> slow = k -> {
+            started.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        };
+
+        ExecutorService pool = newFixedThreadPool(2);
+        try {
+            Future<Integer> first = pool.submit(() -> memo.get("a", slow));
+            started.await();
+            Future<Integer> second = pool.submit(() -> memo.get("a", slow));
+            release.countDown();
+
+            assertEquals(1, first.get());
+            assertEquals(1, second.get());
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void nestedLoadWaitsForOtherThread() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, Integer> slow = k -> {
+            started.countDown();
+            await(release);
+            return loads.incrementAndGet();
+        };
+
+        ExecutorService pool = newFixedThreadPool(2);
+        try {
+            Future<Integer> outer = pool.submit(() -> memo.get("outer", slow));
+            started.await();
+            Future<Integer> nested = pool.submit(() -> memo.get("other", k -> 10 + memo.get("outer", slow)));
+            for (int i = 0; i < 5000 && memo.hits() == 0; i++) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            assertEquals(1, outer.get());
+            assertEquals(11, nested.get());
+            assertEquals(1, loads.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void loadsWaitingForEachOtherDontDeadlock() {
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        Function<String, Integer> constant = k -> 5;
+        Function<String, Function<String, Integer>> nestedLoadOf = other -> k -> {
+            bothLoading.countDown();
+            await(bothLoading);
+            return memo.get(other, constant);
+        };
+
+        ExecutorService pool = newFixedThreadPool(2);
+        try {
+            Future<Integer> a = pool.submit(() -> memo.get("a", nestedLoadOf.apply("b")));
+            Future<Integer> b = pool.submit(() -> memo.get("b", nestedLoadOf.apply("a")));
+
+            assertEquals(5, assertTimeoutPreemptively(ofSeconds(10), () -> a.get()));
+            assertEquals(5, assertTimeoutPreemptively(ofSeconds(10), () -> b.get()));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.microconfig.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static io.microconfig.utils.SymbolTable.noSymbols;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymbolTableTest {
+    @Test
+    void sameInstanceForEqualNames() {
+        SymbolTable symbols = new SymbolTable();
+        String first = symbols.symbol(new String("server.port"));
+        String second = symbols.symbol(new String("server.port"));
+        assertSame(first, second);
+        assertEquals("server.port", second);
+        assertNull(symbols.symbol(null));
+    }
+
+    @Test
+    void tablesDontShareSymbols() {
+        String name = new String("server.port");
+        new SymbolTable().symbol(name);
+        assertNotSame(name, new SymbolTable().symbol(new String("server.port")));
+
+        String other = new String("server.port");
+        assertSame(other, noSymbols().symbol(other));
+        assertEquals(0, noSymbols().size());
+    }
+
+    @Test
+    void chargedToBudget() {
+        CacheBudget budget = new CacheBudget(1000);
+        SymbolTable symbols = new SymbolTable(budget);
+        symbols.symbol("key");
+        symbols.symbol("key");
+        assertEquals(86, budget.usedBytes());
+
+        for (int i = 0; i < 20; i++) {
+            symbols.symbol("key" + i);
+        }
+        assertTrue(budget.evictions() > 0);
+        assertTrue(budget.usedBytes() <= 1000);
+
+        symbols.clear();
+        assertEquals(0, symbols.size());
+        assertEquals(0, budget.usedBytes());
+    }
+}